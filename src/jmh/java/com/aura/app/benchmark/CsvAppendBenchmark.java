@@ -0,0 +1,103 @@
+package com.aura.app.benchmark;
+
+import com.aura.app.dto.InvoiceRequestDto;
+import com.aura.app.utils.CsvInvoiceReader;
+import com.aura.app.utils.CsvWriterUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV mirror path: rendering rows with {@link CsvWriterUtil} and appending them to a file the way the mirror's
+ * writer thread does, one write per group of {@code batch} lines. Scores are per appended row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvAppendBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"1", "50", "500"})
+    public int batch;
+
+    private final List<InvoiceRequestDto> invoices = new ArrayList<>(ROWS);
+    private Path file;
+    private FileChannel channel;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] csv = InvoiceCorpus.csv(ROWS, false, 42L);
+        try (InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8)) {
+            new CsvInvoiceReader(reader).read(invoices::add);
+        }
+        file = Files.createTempFile("aura-bench-", ".csv");
+    }
+
+    @Setup(Level.Iteration)
+    public void openFile() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeFile() throws IOException {
+        channel.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void renderAndAppend() throws IOException {
+        StringBuilder text = new StringBuilder(batch * 64);
+        int pending = 0;
+        for (InvoiceRequestDto invoice : invoices) {
+            text.append(CsvWriterUtil.toCsvLine(invoice)).append('\n');
+            if (++pending == batch) {
+                write(text);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            write(text);
+        }
+    }
+
+    private void write(StringBuilder text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        text.setLength(0);
+    }
+}
@@ -0,0 +1,54 @@
+package com.aura.app.benchmark;
+
+import com.aura.app.utils.CsvInvoiceReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV import path: decoding and tokenizing an upload into invoice requests, as {@code parseCsv} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    @Param({"100", "10000", "500000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean withUserId;
+
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        csv = InvoiceCorpus.csv(rows, withUserId, 42L);
+    }
+
+    @Benchmark
+    public int parseCsv(Blackhole blackhole) throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8)) {
+            return new CsvInvoiceReader(reader).read(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.aura.app.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic invoices for the benchmarks. Every generator takes a seed, so runs are comparable.
+ */
+public final class InvoiceCorpus {
+
+    private static final DateTimeFormatter DAY_MONTH_YEAR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String[] METALS = {"SILVER24", "GOLD22K", "GOLD24K", "PLATINUM", "PALLADIUM"};
+    private static final int LINES_PER_PAGE = 48;
+
+    /**
+     * PDF layouts the parser has to cope with.
+     */
+    public enum Layout {
+        /**
+         * "Invoice" heading with labelled fields; routed to the bullion tax invoice template.
+         */
+        BULLION_TAX_INVOICE,
+        /**
+         * Letterhead without labels; handled by the generic rules.
+         */
+        GENERIC,
+        /**
+         * Header on the first page but the totals on the last one, so every page has to be stripped.
+         */
+        TOTALS_ON_LAST_PAGE
+    }
+
+    private InvoiceCorpus() {
+    }
+
+    public static byte[] pdf(Layout layout, int pages, long seed) throws IOException {
+        Random random = new Random(seed);
+        Amounts amounts = Amounts.random(random);
+        LocalDate date = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700));
+        String metal = METALS[random.nextInt(METALS.length)];
+
+        List<String> header = new ArrayList<>();
+        List<String> totals = List.of(
+                "GST(3%) " + amounts.gst,
+                "TOTAL INVOICE VALUE " + amounts.total);
+        switch (layout) {
+            case BULLION_TAX_INVOICE, TOTALS_ON_LAST_PAGE -> {
+                header.add("AURA BULLION PVT LTD");
+                header.add("Tax Invoice");
+                header.add("Invoice No: INV-" + (100000 + random.nextInt(900000)));
+                header.add("Invoice Date: " + date.format(DAY_MONTH_YEAR));
+                header.add("Product: " + metal);
+                header.add("Description Qty Rate Amount");
+                header.add(metal + " " + amounts.quantity + " " + amounts.rate + " " + amounts.net);
+            }
+            case GENERIC -> {
+                header.add("AURA BULLION TRADERS, 12 MARKET ROAD");
+                header.add("Date " + date);
+                header.add(metal);
+                header.add(metal + " " + amounts.quantity + " " + amounts.rate + " " + amounts.net);
+            }
+        }
+
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int page = 1; page <= pages; page++) {
+                List<String> lines = new ArrayList<>();
+                if (page == 1) {
+                    lines.addAll(header);
+                    if (layout != Layout.TOTALS_ON_LAST_PAGE) {
+                        lines.addAll(totals);
+                    }
+                }
+                while (lines.size() < LINES_PER_PAGE - totals.size()) {
+                    lines.add(fillerLine(random));
+                }
+                if (page == pages && layout == Layout.TOTALS_ON_LAST_PAGE) {
+                    lines.addAll(totals);
+                }
+                writePage(document, lines);
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * CSV upload of {@code rows} invoices, with or without the leading userId column.
+     */
+    public static byte[] csv(int rows, boolean withUserId, long seed) {
+        Random random = new Random(seed);
+        StringBuilder csv = new StringBuilder(rows * 64);
+        if (withUserId) {
+            csv.append("userId,");
+        }
+        csv.append("invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount\n");
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            Amounts amounts = Amounts.random(random);
+            if (withUserId) {
+                csv.append(1 + random.nextInt(500)).append(',');
+            }
+            csv.append(start.plusDays(random.nextInt(700))).append(',')
+                    .append(METALS[random.nextInt(METALS.length)]).append(',')
+                    .append(amounts.net).append(',')
+                    .append(amounts.gst).append(',')
+                    .append(amounts.total).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writePage(PDDocument document, List<String> lines) throws IOException {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+            content.beginText();
+            content.setFont(PDType1Font.HELVETICA, 10);
+            content.setLeading(14);
+            content.newLineAtOffset(40, 800);
+            for (String line : lines) {
+                content.showText(line);
+                content.newLine();
+            }
+            content.endText();
+        }
+    }
+
+    private static String fillerLine(Random random) {
+        return "Terms: goods once sold are subject to clause " + (1 + random.nextInt(40))
+                + " of the agreement and the prevailing market rate.";
+    }
+
+    private record Amounts(String quantity, String rate, String net, String gst, String total) {
+
+        static Amounts random(Random random) {
+            long quantityMilli = 1_000 + random.nextInt(50_000);
+            long rateCents = 5_000 + random.nextInt(700_000);
+            long netCents = quantityMilli * rateCents / 1_000;
+            long gstCents = netCents * 3 / 100;
+            return new Amounts(fixed(quantityMilli, 1_000, 4), fixed(rateCents, 100, 2), fixed(netCents, 100, 2),
+                    fixed(gstCents, 100, 2), fixed(netCents + gstCents, 100, 2));
+        }
+
+        private static String fixed(long value, long unit, int scale) {
+            return BigDecimal.valueOf(value).divide(BigDecimal.valueOf(unit))
+                    .setScale(scale, RoundingMode.HALF_UP).toPlainString();
+        }
+    }
+}
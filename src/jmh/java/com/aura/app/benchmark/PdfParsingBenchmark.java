@@ -0,0 +1,81 @@
+package com.aura.app.benchmark;
+
+import com.aura.app.dto.InvoiceRequestDto;
+import com.aura.app.parser.InvoiceFieldExtractor;
+import com.aura.app.service.impl.ParseAdmissionServiceImpl;
+import com.aura.app.service.impl.PdfParserServiceImpl;
+import com.aura.app.utils.InMemoryMultipartFile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF upload path: document load plus full text stripping, field extraction on already stripped text, and
+ * {@link PdfParserServiceImpl#parseInvoice} end to end (which stops stripping once every field is found).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfParsingBenchmark {
+
+    @Param({"BULLION_TAX_INVOICE", "GENERIC", "TOTALS_ON_LAST_PAGE"})
+    public InvoiceCorpus.Layout layout;
+
+    @Param({"1", "5", "25"})
+    public int pages;
+
+    private byte[] pdf;
+    private String text;
+    private InMemoryMultipartFile upload;
+    private InvoiceFieldExtractor fieldExtractor;
+    private PdfParserServiceImpl parserService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pdf = InvoiceCorpus.pdf(layout, pages, 42L);
+        try (PDDocument document = PDDocument.load(pdf)) {
+            text = new PDFTextStripper().getText(document);
+        }
+        upload = new InMemoryMultipartFile("invoice.pdf", "application/pdf", pdf);
+        fieldExtractor = new InvoiceFieldExtractor();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Default admission limits; the benchmark thread never has to wait
+        ParseAdmissionServiceImpl admission = new ParseAdmissionServiceImpl(meterRegistry, 0, 0, 16, 2000, 5);
+        parserService = new PdfParserServiceImpl(fieldExtractor, admission, meterRegistry, 16L * 1024 * 1024, "", 0, 1, 16);
+    }
+
+    @Benchmark
+    public String loadAndStrip() throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    @Benchmark
+    public InvoiceRequestDto extractFields() {
+        return fieldExtractor.extract(text);
+    }
+
+    @Benchmark
+    public InvoiceRequestDto parseInvoice() {
+        return parserService.parseInvoice(upload);
+    }
+}
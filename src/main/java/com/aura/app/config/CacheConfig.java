@@ -0,0 +1,12 @@
+package com.aura.app.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are Caffeine-backed; names, size and TTL come from {@code spring.cache.*} in application.properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
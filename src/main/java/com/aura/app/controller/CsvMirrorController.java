@@ -0,0 +1,170 @@
+package com.aura.app.controller;
+
+import com.aura.app.service.CsvMirrorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * Serves the CSV mirror at the {@code csvPath} returned by uploads. The file only grows between rotations, so a
+ * snapshot of its size is a consistent view: the ETag is derived from size and modification time, and clients
+ * polling for new rows send {@code Range: bytes=<length already read>-} to fetch only what was appended
+ * ({@code 416} when nothing was). After a rotation the file is shorter than the client's offset, which also
+ * yields {@code 416} with the new length, so the client starts over.
+ * <p>
+ * On Tomcat the body goes out through sendfile; elsewhere it is copied with {@link FileChannel#transferTo}.
+ */
+@RestController
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000","https://auragoldinvoice.netlify.app"})
+@Tag(name = "Invoices", description = "Revenue invoice operations")
+public class CsvMirrorController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final CsvMirrorService csvMirrorService;
+
+    public CsvMirrorController(CsvMirrorService csvMirrorService) {
+        this.csvMirrorService = csvMirrorService;
+    }
+
+    @GetMapping("/output/{fileName}")
+    @Operation(summary = "Download the parsed-invoice CSV mirror; supports Range and If-None-Match for incremental polling")
+    public void downloadCsvMirror(@PathVariable String fileName, HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        Path file = csvMirrorService.getActiveFile();
+        if (!file.getFileName().toString().equals(fileName)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            // Nothing has been uploaded yet
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long length = attributes.size();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, attributes.lastModifiedTime().toMillis());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            ByteRange range = requestedRange(rangeHeader, length);
+            if (range != null) {
+                if (!range.satisfiable()) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = range.start();
+                end = range.end();
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setContentLengthLong(end - start);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || end == start) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /**
+     * The byte range {@code [start, end)} a Range header asks for within a file of {@code length} bytes, or
+     * {@code null} when the header is malformed or names several ranges, which are answered with the whole file.
+     * {@link HttpRange#getRangeStart} does not check the start against the length, so a range starting at or
+     * beyond the end comes back empty and unsatisfiable.
+     */
+    static ByteRange requestedRange(String rangeHeader, long length) {
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (ranges.size() != 1) {
+            return null;
+        }
+        HttpRange range = ranges.get(0);
+        long start = range.getRangeStart(length);
+        if (start >= length) {
+            return new ByteRange(start, start);
+        }
+        return new ByteRange(start, range.getRangeEnd(length) + 1);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    record ByteRange(long start, long end) {
+
+        boolean satisfiable() {
+            return start < end;
+        }
+    }
+}
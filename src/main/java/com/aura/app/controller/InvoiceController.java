@@ -1,18 +1,44 @@
 package com.aura.app.controller;
 
+import com.aura.app.dto.ExportFormat;
+import com.aura.app.dto.InvoiceImportResultDto;
+import com.aura.app.dto.InvoicePageDto;
 import com.aura.app.dto.InvoiceRequestDto;
 import com.aura.app.dto.InvoiceResponseDto;
+import com.aura.app.dto.ManualInvoiceResultDto;
+import com.aura.app.dto.RevenueBucketDto;
+import com.aura.app.dto.RevenueGranularity;
+import com.aura.app.dto.SketchBucketDto;
+import com.aura.app.dto.UploadJobDto;
+import com.aura.app.service.InvoiceCacheService;
+import com.aura.app.service.InvoiceExportService;
+import com.aura.app.service.InvoicePurgeService;
 import com.aura.app.service.InvoiceService;
+import com.aura.app.service.InvoiceSketchService;
+import com.aura.app.service.UploadJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/invoices")
@@ -20,10 +46,27 @@ import java.util.Map;
 @Tag(name = "Invoices", description = "Revenue invoice operations")
 public class InvoiceController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final InvoiceService invoiceService;
+    private final UploadJobService uploadJobService;
+    private final InvoiceCacheService invoiceCacheService;
+    private final InvoiceExportService invoiceExportService;
+    private final InvoiceSketchService invoiceSketchService;
+    private final InvoicePurgeService invoicePurgeService;
+    private final ObjectMapper objectMapper;
 
-    public InvoiceController(InvoiceService invoiceService) {
+    public InvoiceController(InvoiceService invoiceService, UploadJobService uploadJobService,
+                             InvoiceCacheService invoiceCacheService, InvoiceExportService invoiceExportService,
+                             InvoiceSketchService invoiceSketchService, InvoicePurgeService invoicePurgeService,
+                             ObjectMapper objectMapper) {
         this.invoiceService = invoiceService;
+        this.uploadJobService = uploadJobService;
+        this.invoiceCacheService = invoiceCacheService;
+        this.invoiceExportService = invoiceExportService;
+        this.invoiceSketchService = invoiceSketchService;
+        this.invoicePurgeService = invoicePurgeService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/upload")
@@ -33,30 +76,104 @@ public class InvoiceController {
         return ResponseEntity.ok(invoiceService.uploadInvoice(file, userId));
     }
 
+    @PostMapping("/upload/async")
+    @Operation(summary = "Upload invoice file (PDF or CSV) and process it in the background; poll the returned job")
+    public ResponseEntity<UploadJobDto> uploadInvoiceAsync(@RequestParam("file") MultipartFile file,
+                                                           @RequestParam(value = "userId", required = false) Long userId) {
+        UploadJobDto job = uploadJobService.submitUpload(file, userId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/invoices/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get status, timings and result of an asynchronous upload job")
+    public ResponseEntity<UploadJobDto> getUploadJob(@PathVariable String id) {
+        return uploadJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Bulk import every row of one or more invoice files (PDF or CSV) with batched inserts; "
+            + "set multiInvoicePdf for PDFs holding one invoice per page or page range")
+    public ResponseEntity<List<InvoiceImportResultDto>> importInvoices(@RequestParam("files") List<MultipartFile> files,
+                                                                       @RequestParam(value = "userId", required = false) Long userId,
+                                                                       @RequestParam(value = "multiInvoicePdf", defaultValue = "false") boolean multiInvoicePdf) {
+        return ResponseEntity.ok(invoiceService.importInvoices(files, userId, multiInvoicePdf));
+    }
+
+    @PostMapping("/import/zip")
+    @Operation(summary = "Import every PDF and CSV inside a ZIP archive; returns one result per entry")
+    public ResponseEntity<List<InvoiceImportResultDto>> importArchive(@RequestParam("file") MultipartFile file,
+                                                                      @RequestParam(value = "userId", required = false) Long userId) {
+        return ResponseEntity.ok(invoiceService.importArchive(file, userId));
+    }
+
     @PostMapping("/manual")
     @Operation(summary = "Create manual revenue invoice entry")
     public ResponseEntity<InvoiceResponseDto> createManual(@RequestBody InvoiceRequestDto requestDto) {
         return ResponseEntity.ok(invoiceService.createManualInvoice(requestDto));
     }
 
+    @PostMapping(value = "/manual/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    @Operation(summary = "Create many manual invoices from a JSON array or newline-delimited JSON, saved in chunked "
+            + "batches; returns the id or error of every element")
+    public ResponseEntity<List<ManualInvoiceResultDto>> createManualBatch(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(invoiceService.createManualInvoices(request.getInputStream()));
+    }
+
     @GetMapping("/all")
     @Operation(summary = "Get all invoices")
     public ResponseEntity<List<InvoiceResponseDto>> getAllInvoices() {
         return ResponseEntity.ok(invoiceService.getAllInvoices());
     }
 
+    @GetMapping("/all/page")
+    @Operation(summary = "Get one page of invoices ordered by invoice date and id; pass nextCursor to continue")
+    public ResponseEntity<InvoicePageDto> getInvoicePage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "size", defaultValue = "100") int size) {
+        return ResponseEntity.ok(invoiceService.getInvoicePage(cursor, size));
+    }
+
+    @GetMapping("/all/stream")
+    @Operation(summary = "Stream all invoices as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamAllInvoices() {
+        return ndjson(null, null, null);
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get invoices for a specific user")
     public ResponseEntity<List<InvoiceResponseDto>> getInvoicesForUser(@PathVariable Long userId) {
         return ResponseEntity.ok(invoiceService.getInvoicesForUser(userId));
     }
 
+    @GetMapping("/user/{userId}/page")
+    @Operation(summary = "Get one page of a user's invoices ordered by invoice date and id")
+    public ResponseEntity<InvoicePageDto> getInvoicePageForUser(@PathVariable Long userId,
+                                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                                @RequestParam(value = "size", defaultValue = "100") int size) {
+        return ResponseEntity.ok(invoiceService.getInvoicePageForUser(userId, cursor, size));
+    }
+
+    @GetMapping("/user/{userId}/stream")
+    @Operation(summary = "Stream a user's invoices as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamInvoicesForUser(@PathVariable Long userId) {
+        return ndjson(userId, null, null);
+    }
+
     @GetMapping("/revenue/summary")
     @Operation(summary = "Get revenue summary")
     public ResponseEntity<Map<String, Object>> getRevenueSummary() {
         return ResponseEntity.ok(invoiceService.getRevenueSummary());
     }
 
+    @PostMapping("/revenue/rollups/rebuild")
+    @Operation(summary = "Recompute revenue rollups from the invoices table")
+    public ResponseEntity<Map<String, Object>> rebuildRevenueRollups() {
+        return ResponseEntity.ok(Map.of("buckets", invoiceService.rebuildRevenueRollups()));
+    }
+
     @GetMapping("/revenue/by-date")
     @Operation(summary = "Get revenue by date range")
     public ResponseEntity<List<InvoiceResponseDto>> getRevenueByDate(@RequestParam("start") LocalDate start,
@@ -64,10 +181,147 @@ public class InvoiceController {
         return ResponseEntity.ok(invoiceService.getRevenueByDate(start, end));
     }
 
+    @GetMapping("/revenue/by-date/page")
+    @Operation(summary = "Get one page of invoices in a date range ordered by invoice date and id")
+    public ResponseEntity<InvoicePageDto> getRevenuePageByDate(@RequestParam("start") LocalDate start,
+                                                               @RequestParam("end") LocalDate end,
+                                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                                               @RequestParam(value = "size", defaultValue = "100") int size) {
+        return ResponseEntity.ok(invoiceService.getRevenuePageByDate(start, end, cursor, size));
+    }
+
+    @GetMapping("/revenue/by-date/stream")
+    @Operation(summary = "Stream invoices in a date range as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamRevenueByDate(@RequestParam("start") LocalDate start,
+                                                                     @RequestParam("end") LocalDate end) {
+        return ndjson(null, start, end);
+    }
+
+    @GetMapping("/analytics/revenue")
+    @Operation(summary = "Get revenue totals per day, week, month or year, optionally filtered by user, metal type and date range")
+    public ResponseEntity<List<RevenueBucketDto>> getRevenueAnalytics(
+            @RequestParam(value = "granularity", defaultValue = "month") String granularity,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "metalType", required = false) String metalType,
+            @RequestParam(value = "start", required = false) LocalDate start,
+            @RequestParam(value = "end", required = false) LocalDate end) {
+        RevenueGranularity parsed;
+        try {
+            parsed = RevenueGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "granularity must be one of day, week, month, year");
+        }
+        return ResponseEntity.ok(invoiceService.getRevenueAnalytics(parsed, userId, metalType, start, end));
+    }
+
+    @GetMapping("/analytics/sketches")
+    @Operation(summary = "Get approximate median and p95 invoice value and distinct active users per month or year, "
+            + "per metal type unless byMetal is false")
+    public ResponseEntity<List<SketchBucketDto>> getSketchAnalytics(
+            @RequestParam(value = "granularity", defaultValue = "month") String granularity,
+            @RequestParam(value = "metalType", required = false) String metalType,
+            @RequestParam(value = "byMetal", defaultValue = "true") boolean byMetal,
+            @RequestParam(value = "start", required = false) LocalDate start,
+            @RequestParam(value = "end", required = false) LocalDate end) {
+        RevenueGranularity parsed;
+        try {
+            parsed = RevenueGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            parsed = null;
+        }
+        if (parsed != RevenueGranularity.MONTH && parsed != RevenueGranularity.YEAR) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "granularity must be one of month, year");
+        }
+        return ResponseEntity.ok(invoiceSketchService.getSketchAnalytics(parsed, metalType, byMetal, start, end));
+    }
+
+    @PostMapping("/analytics/sketches/rebuild")
+    @Operation(summary = "Recompute the value and user sketches from the invoices table, dropping deleted invoices")
+    public ResponseEntity<Map<String, Object>> rebuildSketches() {
+        return ResponseEntity.ok(Map.of("buckets", invoiceSketchService.rebuild()));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export invoices as CSV or NDJSON, optionally filtered by user and date range; "
+            + "streamed from the database and gzip-compressed when the client accepts it")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "start", required = false) LocalDate start,
+            @RequestParam(value = "end", required = false) LocalDate end,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat parsed;
+        try {
+            parsed = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be one of csv, ndjson");
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                // Sync flush lets every flushed batch of rows reach the client instead of waiting for the deflater
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192, true)) {
+                    invoiceExportService.export(parsed, userId, start, end, compressed);
+                }
+            } else {
+                invoiceExportService.export(parsed, userId, start, end, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(parsed.mediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("invoices." + parsed.extension()).build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get hit/miss statistics of the invoice read caches")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(invoiceCacheService.getStatistics());
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete invoice by ID")
     public ResponseEntity<Void> deleteInvoice(@PathVariable Long id) {
         invoiceService.deleteInvoice(id);
         return ResponseEntity.noContent().build();
     }
+
+    @DeleteMapping
+    @Operation(summary = "Delete every invoice matching all given filters (ids, user, date range) in one statement; "
+            + "at least one filter is required")
+    public ResponseEntity<Map<String, Object>> deleteInvoices(
+            @RequestParam(value = "ids", required = false) List<Long> ids,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "start", required = false) LocalDate start,
+            @RequestParam(value = "end", required = false) LocalDate end) {
+        if ((ids == null || ids.isEmpty()) && userId == null && start == null && end == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Give ids, userId, start or end");
+        }
+        return ResponseEntity.ok(Map.of("deleted", invoiceService.deleteInvoices(ids, userId, start, end)));
+    }
+
+    @PostMapping("/purge")
+    @Operation(summary = "Remove soft-deleted invoices past their retention period now instead of waiting for the background purge")
+    public ResponseEntity<Map<String, Object>> purgeDeletedInvoices() {
+        return ResponseEntity.ok(Map.of("purged", invoicePurgeService.purgeDeleted()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Long userId, LocalDate start, LocalDate end) {
+        StreamingResponseBody body = out -> invoiceService.streamInvoices(userId, start, end, dto -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(dto));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
 }
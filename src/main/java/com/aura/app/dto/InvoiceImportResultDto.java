@@ -0,0 +1,41 @@
+package com.aura.app.dto;
+
+public class InvoiceImportResultDto {
+
+    private String fileName;
+    private int rowsAccepted;
+    private int rowsRejected;
+    private String error;
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public int getRowsAccepted() {
+        return rowsAccepted;
+    }
+
+    public void setRowsAccepted(int rowsAccepted) {
+        this.rowsAccepted = rowsAccepted;
+    }
+
+    public int getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(int rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,25 @@
+package com.aura.app.dto;
+
+import java.util.List;
+
+public class InvoicePageDto {
+
+    private List<InvoiceResponseDto> items;
+    private String nextCursor;
+
+    public List<InvoiceResponseDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InvoiceResponseDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
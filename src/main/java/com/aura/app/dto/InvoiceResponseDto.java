@@ -16,6 +16,7 @@ public class InvoiceResponseDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String csvPath;
+    private boolean duplicate;
 
     public Long getId() {
         return id;
@@ -96,4 +97,12 @@ public class InvoiceResponseDto {
     public void setCsvPath(String csvPath) {
         this.csvPath = csvPath;
     }
+
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+
+    public void setDuplicate(boolean duplicate) {
+        this.duplicate = duplicate;
+    }
 }
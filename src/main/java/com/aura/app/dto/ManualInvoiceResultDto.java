@@ -0,0 +1,35 @@
+package com.aura.app.dto;
+
+/**
+ * Outcome of one element of a manual batch: the stored invoice id, or the reason it was not stored.
+ */
+public class ManualInvoiceResultDto {
+
+    private int index;
+    private Long id;
+    private String error;
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
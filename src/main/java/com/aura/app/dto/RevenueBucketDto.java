@@ -0,0 +1,53 @@
+package com.aura.app.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RevenueBucketDto {
+
+    private LocalDate bucketStart;
+    private long invoiceCount;
+    private BigDecimal amountWithoutGst;
+    private BigDecimal gstAmount;
+    private BigDecimal totalAmount;
+
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDate bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    public void setInvoiceCount(long invoiceCount) {
+        this.invoiceCount = invoiceCount;
+    }
+
+    public BigDecimal getAmountWithoutGst() {
+        return amountWithoutGst;
+    }
+
+    public void setAmountWithoutGst(BigDecimal amountWithoutGst) {
+        this.amountWithoutGst = amountWithoutGst;
+    }
+
+    public BigDecimal getGstAmount() {
+        return gstAmount;
+    }
+
+    public void setGstAmount(BigDecimal gstAmount) {
+        this.gstAmount = gstAmount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
@@ -0,0 +1,17 @@
+package com.aura.app.dto;
+
+import java.util.Locale;
+
+public enum RevenueGranularity {
+    DAY,
+    WEEK,
+    MONTH,
+    YEAR;
+
+    /**
+     * Field name understood by PostgreSQL {@code date_trunc}.
+     */
+    public String sqlField() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
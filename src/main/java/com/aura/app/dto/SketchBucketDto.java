@@ -0,0 +1,66 @@
+package com.aura.app.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Estimated figures for one period, for one metal type or (with a null metal type) all of them.
+ * Median and p95 are approximate and null when the period has no invoice amounts.
+ */
+public class SketchBucketDto {
+
+    private LocalDate periodStart;
+    private String metalType;
+    private long invoiceCount;
+    private BigDecimal medianTotalAmount;
+    private BigDecimal p95TotalAmount;
+    private long distinctUsers;
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public String getMetalType() {
+        return metalType;
+    }
+
+    public void setMetalType(String metalType) {
+        this.metalType = metalType;
+    }
+
+    public long getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    public void setInvoiceCount(long invoiceCount) {
+        this.invoiceCount = invoiceCount;
+    }
+
+    public BigDecimal getMedianTotalAmount() {
+        return medianTotalAmount;
+    }
+
+    public void setMedianTotalAmount(BigDecimal medianTotalAmount) {
+        this.medianTotalAmount = medianTotalAmount;
+    }
+
+    public BigDecimal getP95TotalAmount() {
+        return p95TotalAmount;
+    }
+
+    public void setP95TotalAmount(BigDecimal p95TotalAmount) {
+        this.p95TotalAmount = p95TotalAmount;
+    }
+
+    public long getDistinctUsers() {
+        return distinctUsers;
+    }
+
+    public void setDistinctUsers(long distinctUsers) {
+        this.distinctUsers = distinctUsers;
+    }
+}
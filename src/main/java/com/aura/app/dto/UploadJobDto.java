@@ -0,0 +1,106 @@
+package com.aura.app.dto;
+
+import java.time.Instant;
+
+public class UploadJobDto {
+
+    private String id;
+    private UploadJobStatus status;
+    private String fileName;
+    private Long userId;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long queuedMillis;
+    private Long processingMillis;
+    private InvoiceResponseDto result;
+    private String error;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public UploadJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UploadJobStatus status) {
+        this.status = status;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getQueuedMillis() {
+        return queuedMillis;
+    }
+
+    public void setQueuedMillis(Long queuedMillis) {
+        this.queuedMillis = queuedMillis;
+    }
+
+    public Long getProcessingMillis() {
+        return processingMillis;
+    }
+
+    public void setProcessingMillis(Long processingMillis) {
+        this.processingMillis = processingMillis;
+    }
+
+    public InvoiceResponseDto getResult() {
+        return result;
+    }
+
+    public void setResult(InvoiceResponseDto result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,8 @@
+package com.aura.app.dto;
+
+public enum UploadJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
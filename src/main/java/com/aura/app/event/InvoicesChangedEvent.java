@@ -0,0 +1,36 @@
+package com.aura.app.event;
+
+import com.aura.app.model.Invoice;
+
+import java.util.List;
+
+/**
+ * Published by the invoice write paths. Listeners that keep derived state outside the database should react
+ * after commit, so they never observe a write that is later rolled back.
+ */
+public class InvoicesChangedEvent {
+
+    private final List<Invoice> created;
+    private final List<Invoice> deleted;
+
+    private InvoicesChangedEvent(List<Invoice> created, List<Invoice> deleted) {
+        this.created = created;
+        this.deleted = deleted;
+    }
+
+    public static InvoicesChangedEvent created(List<Invoice> invoices) {
+        return new InvoicesChangedEvent(List.copyOf(invoices), List.of());
+    }
+
+    public static InvoicesChangedEvent deleted(List<Invoice> invoices) {
+        return new InvoicesChangedEvent(List.of(), List.copyOf(invoices));
+    }
+
+    public List<Invoice> getCreated() {
+        return created;
+    }
+
+    public List<Invoice> getDeleted() {
+        return deleted;
+    }
+}
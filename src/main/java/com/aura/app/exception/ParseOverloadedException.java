@@ -0,0 +1,29 @@
+package com.aura.app.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * PDF parsing is at capacity. Answered with {@code 429 Too Many Requests} and a {@code Retry-After} header.
+ */
+public class ParseOverloadedException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public ParseOverloadedException(String reason, long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -1,13 +1,19 @@
 package com.aura.app.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+/**
+ * Soft-deleted rows ({@code deleted_at} set) are invisible to every entity query; native queries filter on
+ * {@code deleted_at IS NULL} themselves.
+ */
 @Entity
 @Table(name = "invoices")
+@SQLRestriction("deleted_at IS NULL")
 public class Invoice {
 
     @Id
@@ -33,6 +39,8 @@ public class Invoice {
 
     private LocalDateTime updatedAt;
 
+    private LocalDateTime deletedAt;
+
     @PrePersist
     public void prePersist() {
         LocalDateTime now = LocalDateTime.now();
@@ -116,4 +124,12 @@ public class Invoice {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
@@ -0,0 +1,90 @@
+package com.aura.app.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Mergeable sketches of the dated invoices in one (year, month, metal type) bucket: a serialized t-digest of
+ * total amounts and a compact HyperLogLog of user ids. Invoices without a metal type use metal key "".
+ */
+@Entity
+@Table(name = "invoice_sketches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_invoice_sketches_bucket",
+                columnNames = {"bucket_year", "bucket_month", "metal_key"}))
+public class InvoiceSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_year", nullable = false)
+    private int bucketYear;
+
+    @Column(name = "bucket_month", nullable = false)
+    private int bucketMonth;
+
+    @Column(name = "metal_key", nullable = false)
+    private String metalKey;
+
+    @Column(nullable = false)
+    private long invoiceCount;
+
+    private byte[] valueDigest;
+
+    private byte[] userHll;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getBucketYear() {
+        return bucketYear;
+    }
+
+    public void setBucketYear(int bucketYear) {
+        this.bucketYear = bucketYear;
+    }
+
+    public int getBucketMonth() {
+        return bucketMonth;
+    }
+
+    public void setBucketMonth(int bucketMonth) {
+        this.bucketMonth = bucketMonth;
+    }
+
+    public String getMetalKey() {
+        return metalKey;
+    }
+
+    public void setMetalKey(String metalKey) {
+        this.metalKey = metalKey;
+    }
+
+    public long getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    public void setInvoiceCount(long invoiceCount) {
+        this.invoiceCount = invoiceCount;
+    }
+
+    public byte[] getValueDigest() {
+        return valueDigest;
+    }
+
+    public void setValueDigest(byte[] valueDigest) {
+        this.valueDigest = valueDigest;
+    }
+
+    public byte[] getUserHll() {
+        return userHll;
+    }
+
+    public void setUserHll(byte[] userHll) {
+        this.userHll = userHll;
+    }
+}
@@ -0,0 +1,106 @@
+package com.aura.app.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated revenue per (year, month, user, metal type) bucket.
+ * Invoices without a date are kept in year/month 0, without a user in user key 0 and without a metal type in
+ * metal key "" so every invoice lands in exactly one bucket.
+ */
+@Entity
+@Table(name = "revenue_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_revenue_rollups_bucket",
+                columnNames = {"bucket_year", "bucket_month", "user_key", "metal_key"}))
+public class RevenueRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_year", nullable = false)
+    private int bucketYear;
+
+    @Column(name = "bucket_month", nullable = false)
+    private int bucketMonth;
+
+    @Column(name = "user_key", nullable = false)
+    private long userKey;
+
+    @Column(name = "metal_key", nullable = false)
+    private String metalKey;
+
+    @Column(nullable = false)
+    private long invoiceCount;
+
+    @Column(precision = 19, scale = 4, nullable = false)
+    private BigDecimal totalRevenue;
+
+    @Column(precision = 19, scale = 4, nullable = false)
+    private BigDecimal totalGst;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getBucketYear() {
+        return bucketYear;
+    }
+
+    public void setBucketYear(int bucketYear) {
+        this.bucketYear = bucketYear;
+    }
+
+    public int getBucketMonth() {
+        return bucketMonth;
+    }
+
+    public void setBucketMonth(int bucketMonth) {
+        this.bucketMonth = bucketMonth;
+    }
+
+    public long getUserKey() {
+        return userKey;
+    }
+
+    public void setUserKey(long userKey) {
+        this.userKey = userKey;
+    }
+
+    public String getMetalKey() {
+        return metalKey;
+    }
+
+    public void setMetalKey(String metalKey) {
+        this.metalKey = metalKey;
+    }
+
+    public long getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    public void setInvoiceCount(long invoiceCount) {
+        this.invoiceCount = invoiceCount;
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(BigDecimal totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public BigDecimal getTotalGst() {
+        return totalGst;
+    }
+
+    public void setTotalGst(BigDecimal totalGst) {
+        this.totalGst = totalGst;
+    }
+}
@@ -0,0 +1,96 @@
+package com.aura.app.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A processed upload, identified by the SHA-256 of its bytes. Uploads without a user are kept under user key 0.
+ */
+@Entity
+@Table(name = "uploaded_files",
+        uniqueConstraints = @UniqueConstraint(name = "uk_uploaded_files_hash",
+                columnNames = {"content_hash", "user_key"}))
+public class UploadedFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "user_key", nullable = false)
+    private long userKey;
+
+    @Column(name = "invoice_id", nullable = false)
+    private Long invoiceId;
+
+    private String fileName;
+
+    @Column(nullable = false)
+    private long fileSize;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public long getUserKey() {
+        return userKey;
+    }
+
+    public void setUserKey(long userKey) {
+        this.userKey = userKey;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public void setInvoiceId(Long invoiceId) {
+        this.invoiceId = invoiceId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,75 @@
+package com.aura.app.parser;
+
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One precompiled way of extracting a field from a line of invoice text.
+ * <p>
+ * The regex only runs on lines that contain one of the (upper-case) trigger keywords, which keeps the per-line
+ * cost to a few {@code indexOf} calls for the common case where a line holds none of the fields.
+ * Labels whose value wraps onto the following line can opt in to {@code crossLine} matching.
+ */
+public final class FieldRule {
+
+    private final InvoiceField field;
+    private final String[] triggers;
+    private final Pattern pattern;
+    private final boolean crossLine;
+    private final Function<Matcher, Object> converter;
+
+    private FieldRule(InvoiceField field, String[] triggers, Pattern pattern, boolean crossLine,
+                      Function<Matcher, Object> converter) {
+        this.field = field;
+        this.triggers = triggers;
+        this.pattern = pattern;
+        this.crossLine = crossLine;
+        this.converter = converter;
+    }
+
+    public static FieldRule of(InvoiceField field, String regex, Function<Matcher, Object> converter, String... triggers) {
+        return new FieldRule(field, upperCase(triggers), Pattern.compile(regex), false, converter);
+    }
+
+    public static FieldRule crossLine(InvoiceField field, String regex, Function<Matcher, Object> converter, String... triggers) {
+        return new FieldRule(field, upperCase(triggers), Pattern.compile(regex), true, converter);
+    }
+
+    public InvoiceField getField() {
+        return field;
+    }
+
+    boolean isTriggeredBy(String upperLine) {
+        for (String trigger : triggers) {
+            if (upperLine.contains(trigger)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the converted value, or {@code null} if the rule does not match
+     */
+    Object apply(String line, String nextLine) {
+        Object value = convert(pattern.matcher(line));
+        if (value == null && crossLine && nextLine != null) {
+            value = convert(pattern.matcher(line + "\n" + nextLine));
+        }
+        return value;
+    }
+
+    private Object convert(Matcher matcher) {
+        return matcher.find() ? converter.apply(matcher) : null;
+    }
+
+    private static String[] upperCase(String[] triggers) {
+        String[] upper = new String[triggers.length];
+        for (int i = 0; i < triggers.length; i++) {
+            upper[i] = triggers[i].toUpperCase(Locale.ROOT);
+        }
+        return upper;
+    }
+}
@@ -0,0 +1,132 @@
+package com.aura.app.parser;
+
+import com.aura.app.dto.InvoiceRequestDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single-pass field extraction over the lines of one document.
+ * <p>
+ * Lines are fed in order with {@link #accept(String)}. The first {@value #FINGERPRINT_LINES} lines are buffered
+ * to pick a template, after which every line is examined exactly once. A field keeps the match of its
+ * best-ranked rule; once every field has a rank-0 match the session reports {@link #isComplete()} so callers can
+ * stop reading the document early.
+ */
+public class InvoiceExtractionSession {
+
+    static final int FINGERPRINT_LINES = 40;
+
+    private final List<String> head = new ArrayList<>(FINGERPRINT_LINES);
+    private final Map<InvoiceField, Object> values = new EnumMap<>(InvoiceField.class);
+    private final Map<InvoiceField, Integer> ranks = new EnumMap<>(InvoiceField.class);
+    private InvoiceTemplate template;
+    private String pending;
+
+    InvoiceExtractionSession() {
+    }
+
+    public void accept(String line) {
+        if (template == null) {
+            head.add(line);
+            if (head.size() == FINGERPRINT_LINES) {
+                routeAndReplayHead();
+            }
+            return;
+        }
+        if (pending != null) {
+            process(pending, line);
+        }
+        pending = line;
+    }
+
+    /**
+     * Mark a page boundary. The template is chosen now if the first page was shorter than the fingerprint
+     * window, so a short first page can already complete the session.
+     */
+    public void endPage() {
+        if (template == null) {
+            routeAndReplayHead();
+        }
+    }
+
+    public boolean isComplete() {
+        if (template == null) {
+            return false;
+        }
+        for (InvoiceField field : InvoiceField.values()) {
+            Integer rank = ranks.get(field);
+            if (rank == null || rank != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getTemplateName() {
+        return template != null ? template.getName() : null;
+    }
+
+    public InvoiceRequestDto finish() {
+        if (template == null) {
+            routeAndReplayHead();
+        }
+        if (pending != null) {
+            process(pending, null);
+            pending = null;
+        }
+
+        InvoiceRequestDto dto = new InvoiceRequestDto();
+        dto.setInvoiceDate((LocalDate) values.get(InvoiceField.INVOICE_DATE));
+        dto.setMetalType((String) values.get(InvoiceField.METAL_TYPE));
+        dto.setAmountWithoutGst((BigDecimal) values.get(InvoiceField.AMOUNT_WITHOUT_GST));
+        dto.setGstAmount((BigDecimal) values.get(InvoiceField.GST_AMOUNT));
+        dto.setTotalAmount((BigDecimal) values.get(InvoiceField.TOTAL_AMOUNT));
+        return dto;
+    }
+
+    private void routeAndReplayHead() {
+        StringBuilder upperHead = new StringBuilder();
+        for (String line : head) {
+            upperHead.append(line.toUpperCase(Locale.ROOT)).append('\n');
+        }
+        template = InvoiceTemplates.route(upperHead.toString());
+
+        for (String line : head) {
+            if (pending != null) {
+                process(pending, line);
+            }
+            pending = line;
+        }
+        head.clear();
+    }
+
+    private void process(String line, String nextLine) {
+        String upperLine = line.toUpperCase(Locale.ROOT);
+        for (InvoiceField field : InvoiceField.values()) {
+            Integer current = ranks.get(field);
+            if (current != null && current == 0) {
+                continue;
+            }
+            List<FieldRule> rules = template.rulesFor(field);
+            int limit = current != null ? current : rules.size();
+            for (int rank = 0; rank < limit; rank++) {
+                FieldRule rule = rules.get(rank);
+                if (!rule.isTriggeredBy(upperLine)) {
+                    continue;
+                }
+                Object value = rule.apply(line, nextLine);
+                if (value != null) {
+                    values.put(field, value);
+                    ranks.put(field, rank);
+                    break;
+                }
+            }
+        }
+    }
+}
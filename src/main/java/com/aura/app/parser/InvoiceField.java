@@ -0,0 +1,9 @@
+package com.aura.app.parser;
+
+public enum InvoiceField {
+    INVOICE_DATE,
+    METAL_TYPE,
+    AMOUNT_WITHOUT_GST,
+    GST_AMOUNT,
+    TOTAL_AMOUNT
+}
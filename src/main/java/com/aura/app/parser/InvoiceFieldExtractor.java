@@ -0,0 +1,46 @@
+package com.aura.app.parser;
+
+import com.aura.app.dto.InvoiceRequestDto;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Entry point for turning extracted document text into invoice fields.
+ */
+@Component
+public class InvoiceFieldExtractor {
+
+    public InvoiceExtractionSession newSession() {
+        return new InvoiceExtractionSession();
+    }
+
+    public InvoiceRequestDto extract(String text) {
+        InvoiceExtractionSession session = newSession();
+        text.lines().forEach(session::accept);
+        return session.finish();
+    }
+
+    /**
+     * Extract one invoice that spans {@code pages}, given as the text of each page in order.
+     */
+    public InvoiceRequestDto extractPages(List<String> pages) {
+        InvoiceExtractionSession session = newSession();
+        for (String page : pages) {
+            page.lines().forEach(session::accept);
+            session.endPage();
+        }
+        return session.finish();
+    }
+
+    /**
+     * Whether the text of a page looks like the first page of an invoice, judged from its first lines.
+     */
+    public boolean startsInvoice(String pageText) {
+        StringBuilder upperHead = new StringBuilder();
+        pageText.lines().limit(InvoiceExtractionSession.FINGERPRINT_LINES)
+                .forEach(line -> upperHead.append(line.toUpperCase(Locale.ROOT)).append('\n'));
+        return InvoiceTemplates.startsInvoice(upperHead.toString());
+    }
+}
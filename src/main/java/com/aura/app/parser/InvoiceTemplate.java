@@ -0,0 +1,69 @@
+package com.aura.app.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A known invoice layout: the fingerprint keywords that identify it and the extraction rules for each field,
+ * in priority order. A lower rank wins even when it matches later in the document.
+ */
+public final class InvoiceTemplate {
+
+    private final String name;
+    private final List<String> fingerprint;
+    private final Map<InvoiceField, List<FieldRule>> rules;
+
+    public InvoiceTemplate(String name, List<String> fingerprint, List<FieldRule> rules) {
+        this.name = name;
+        List<String> upper = new ArrayList<>(fingerprint.size());
+        for (String keyword : fingerprint) {
+            upper.add(keyword.toUpperCase(Locale.ROOT));
+        }
+        this.fingerprint = Collections.unmodifiableList(upper);
+
+        Map<InvoiceField, List<FieldRule>> byField = new EnumMap<>(InvoiceField.class);
+        for (InvoiceField field : InvoiceField.values()) {
+            byField.put(field, new ArrayList<>());
+        }
+        for (FieldRule rule : rules) {
+            byField.get(rule.getField()).add(rule);
+        }
+        this.rules = byField;
+    }
+
+    /**
+     * Copy of this template with {@code fallback}'s rules appended after its own for every field.
+     */
+    public InvoiceTemplate withFallback(InvoiceTemplate fallback) {
+        List<FieldRule> combined = new ArrayList<>();
+        for (InvoiceField field : InvoiceField.values()) {
+            combined.addAll(rules.get(field));
+            combined.addAll(fallback.rules.get(field));
+        }
+        return new InvoiceTemplate(name, fingerprint, combined);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    boolean matches(String upperHead) {
+        if (fingerprint.isEmpty()) {
+            return false;
+        }
+        for (String keyword : fingerprint) {
+            if (!upperHead.contains(keyword)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    List<FieldRule> rulesFor(InvoiceField field) {
+        return rules.get(field);
+    }
+}
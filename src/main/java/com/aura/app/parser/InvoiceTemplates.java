@@ -0,0 +1,127 @@
+package com.aura.app.parser;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of precompiled invoice layout templates.
+ * <p>
+ * Every template is combined with the generic rules as a fallback, so a layout-specific template never
+ * extracts less than the generic patterns would. Documents that match no fingerprint use the generic rules.
+ */
+public final class InvoiceTemplates {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy", Locale.ENGLISH);
+    private static final Pattern NON_NUMERIC = Pattern.compile("[^0-9.]+");
+    private static final Pattern TRAILING_AMOUNT = Pattern.compile("([0-9]+[.,][0-9]+)\\s*$");
+
+    private static final Function<Matcher, Object> DATE = m -> parseDate(m.group(1).trim());
+    private static final Function<Matcher, Object> AMOUNT = m -> parseAmount(m.group(1));
+    private static final Function<Matcher, Object> TRAILING_LINE_AMOUNT = m -> {
+        // Take the last numeric token on the matched line as the amount
+        Matcher amount = TRAILING_AMOUNT.matcher(m.group(0));
+        return amount.find() ? parseAmount(amount.group(1)) : null;
+    };
+
+    /**
+     * Generic patterns that work on any layout seen so far.
+     */
+    public static final InvoiceTemplate GENERIC = new InvoiceTemplate("generic", List.of(), List.of(
+            // "Date: 2025-10-28" or "Date 28/10/2025"
+            FieldRule.crossLine(InvoiceField.INVOICE_DATE,
+                    "(?i)Date\\s*[:]?\\s*(\\d{4}-\\d{2}-\\d{2}|\\d{2}/\\d{2}/\\d{4})", DATE, "DATE"),
+            // Any dd/MM/yyyy in the text
+            FieldRule.of(InvoiceField.INVOICE_DATE, "(\\d{2}/\\d{2}/\\d{4})", DATE, "/"),
+            // "Product: SILVER24"
+            FieldRule.crossLine(InvoiceField.METAL_TYPE, "(?i)Product\\s*:?\\s*([A-Z0-9]+)",
+                    m -> m.group(1).trim(), "PRODUCT"),
+            // A line starting with a metal name
+            FieldRule.of(InvoiceField.METAL_TYPE, "(?i)^(GOLD|SILVER|PLATINUM|PALLADIUM)",
+                    m -> m.group(1).toUpperCase(Locale.ENGLISH), "GOLD", "SILVER", "PLATINUM", "PALLADIUM"),
+            // Product line with columns ending in the amount, e.g. "SILVER24 6.4604 150.28 970.87"
+            FieldRule.of(InvoiceField.AMOUNT_WITHOUT_GST,
+                    "(?i)^(?:Product\\s*:?\\s*)?(SILVER24|GOLD[0-9A-Z ]*|SILVER[0-9A-Z ]*).*$",
+                    TRAILING_LINE_AMOUNT, "GOLD", "SILVER"),
+            // "GST(3%) 29.13"
+            FieldRule.crossLine(InvoiceField.GST_AMOUNT,
+                    "(?i)GST\\s*\\([^)]*\\)\\s*([₹$€£]?\\s*[0-9]+[.,][0-9]+)", AMOUNT, "GST"),
+            // "TOTAL INVOICE VALUE 1000"
+            FieldRule.crossLine(InvoiceField.TOTAL_AMOUNT,
+                    "(?i)TOTAL\\s+INVOICE\\s+VALUE\\s*([₹$€£]?\\s*[0-9]+[.,]?[0-9]*)", AMOUNT, "TOTAL")
+    ));
+
+    /**
+     * Bullion tax invoice: an "Invoice" heading with a labelled "Product:" line near the top.
+     * Its rules are anchored to the labels so unrelated dates and metal names in the letterhead are ignored.
+     */
+    public static final InvoiceTemplate BULLION_TAX_INVOICE = new InvoiceTemplate("bullion-tax-invoice",
+            List.of("INVOICE", "PRODUCT"), List.of(
+            FieldRule.crossLine(InvoiceField.INVOICE_DATE,
+                    "(?i)(?:Invoice\\s+)?Date\\s*:\\s*(\\d{4}-\\d{2}-\\d{2}|\\d{2}/\\d{2}/\\d{4})", DATE, "DATE"),
+            FieldRule.crossLine(InvoiceField.METAL_TYPE, "(?i)^\\s*Product\\s*:\\s*([A-Z0-9]+)",
+                    m -> m.group(1).trim(), "PRODUCT"),
+            FieldRule.of(InvoiceField.AMOUNT_WITHOUT_GST,
+                    "(?i)^\\s*(?:SILVER|GOLD|PLATINUM|PALLADIUM)[0-9A-Z]*(?:\\s+[0-9]+[.,][0-9]+){2,}\\s*$",
+                    TRAILING_LINE_AMOUNT, "GOLD", "SILVER", "PLATINUM", "PALLADIUM")
+    )).withFallback(GENERIC);
+
+    private static final List<InvoiceTemplate> TEMPLATES = List.of(BULLION_TAX_INVOICE);
+
+    private InvoiceTemplates() {
+    }
+
+    /**
+     * Pick the template whose fingerprint matches the upper-cased head of the document.
+     */
+    static InvoiceTemplate route(String upperHead) {
+        for (InvoiceTemplate template : TEMPLATES) {
+            if (template.matches(upperHead)) {
+                return template;
+            }
+        }
+        return GENERIC;
+    }
+
+    /**
+     * Whether a page whose upper-cased head is {@code upperHead} begins a new invoice: it carries a known
+     * layout fingerprint, or at least an "Invoice" heading together with a date label.
+     */
+    static boolean startsInvoice(String upperHead) {
+        for (InvoiceTemplate template : TEMPLATES) {
+            if (template.matches(upperHead)) {
+                return true;
+            }
+        }
+        return upperHead.contains("INVOICE") && upperHead.contains("DATE");
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            if (value.contains("-")) {
+                return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
+            }
+            return LocalDate.parse(value, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        String number = NON_NUMERIC.matcher(value.replace(",", "")).replaceAll("");
+        if (number.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(number);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
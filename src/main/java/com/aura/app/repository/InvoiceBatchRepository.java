@@ -0,0 +1,200 @@
+package com.aura.app.repository;
+
+import com.aura.app.model.Invoice;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writer for bulk invoice imports and set-based deletes.
+ * Invoice ids come from an identity column, which stops Hibernate from batching inserts,
+ * so bulk paths bypass the EntityManager and send plain multi-row INSERT batches instead. The generated ids are
+ * read back from the batch and set on the invoices.
+ * Batches are timed as {@code aura.jdbc.batch.insert}, next to Spring Data's {@code spring.data.repository.invocations}.
+ * <p>
+ * Deletes are single statements that return the affected rows, so callers can adjust rollups and notify
+ * listeners without loading the invoices first.
+ */
+@Repository
+public class InvoiceBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO invoices "
+            + "(user_id, invoice_date, metal_type, amount_without_gst, gst_amount, total_amount, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String RETURNING = " RETURNING id, user_id, invoice_date, metal_type, amount_without_gst, "
+            + "gst_amount, total_amount, created_at, updated_at";
+
+    private static final RowMapper<Invoice> INVOICE_ROW = (rs, rowNum) -> {
+        Invoice invoice = new Invoice();
+        invoice.setId(rs.getLong("id"));
+        long userId = rs.getLong("user_id");
+        invoice.setUserId(rs.wasNull() ? null : userId);
+        Date invoiceDate = rs.getDate("invoice_date");
+        invoice.setInvoiceDate(invoiceDate != null ? invoiceDate.toLocalDate() : null);
+        invoice.setMetalType(rs.getString("metal_type"));
+        invoice.setAmountWithoutGst(rs.getBigDecimal("amount_without_gst"));
+        invoice.setGstAmount(rs.getBigDecimal("gst_amount"));
+        invoice.setTotalAmount(rs.getBigDecimal("total_amount"));
+        invoice.setCreatedAt(localDateTime(rs, "created_at"));
+        invoice.setUpdatedAt(localDateTime(rs, "updated_at"));
+        return invoice;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer insertTimer;
+
+    public InvoiceBatchRepository(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertTimer = meterRegistry.timer("aura.jdbc.batch.insert");
+    }
+
+    /**
+     * Insert all invoices as a single JDBC batch. Callers are expected to chunk large imports.
+     */
+    public int insertBatch(List<Invoice> invoices) {
+        if (invoices.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keys = new GeneratedKeyHolder();
+        insertTimer.record(() -> jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Invoice invoice = invoices.get(i);
+                        if (invoice.getUserId() != null) {
+                            ps.setLong(1, invoice.getUserId());
+                        } else {
+                            ps.setNull(1, Types.BIGINT);
+                        }
+                        ps.setDate(2, invoice.getInvoiceDate() != null ? Date.valueOf(invoice.getInvoiceDate()) : null);
+                        ps.setString(3, invoice.getMetalType());
+                        ps.setBigDecimal(4, invoice.getAmountWithoutGst());
+                        ps.setBigDecimal(5, invoice.getGstAmount());
+                        ps.setBigDecimal(6, invoice.getTotalAmount());
+                        ps.setTimestamp(7, timestamp);
+                        ps.setTimestamp(8, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return invoices.size();
+                    }
+                }, keys));
+
+        // Keys come back in statement order, one row per invoice
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < invoices.size() && i < generated.size(); i++) {
+            invoices.get(i).setId(((Number) generated.get(i).get("id")).longValue());
+        }
+        for (Invoice invoice : invoices) {
+            invoice.setCreatedAt(now);
+            invoice.setUpdatedAt(now);
+        }
+        return invoices.size();
+    }
+
+    /**
+     * Delete every live invoice matching all given (nullable) filters in one statement; at least one is required.
+     *
+     * @return the deleted invoices
+     */
+    public List<Invoice> deleteMatching(Collection<Long> ids, Long userId, LocalDate start, LocalDate end) {
+        List<Object> params = new ArrayList<>(4);
+        String where = where(ids, userId, start, end, params);
+        return query("DELETE FROM invoices WHERE " + where + RETURNING, params);
+    }
+
+    /**
+     * Mark every live invoice matching all given (nullable) filters as deleted, in one statement that also drops
+     * their uploaded-file records so the same files can be uploaded again.
+     *
+     * @return the invoices that were marked
+     */
+    public List<Invoice> softDeleteMatching(Collection<Long> ids, Long userId, LocalDate start, LocalDate end,
+                                            LocalDateTime deletedAt) {
+        List<Object> params = new ArrayList<>(5);
+        params.add(Timestamp.valueOf(deletedAt));
+        String where = where(ids, userId, start, end, params);
+        return query("WITH deleted AS (UPDATE invoices SET deleted_at = ? WHERE " + where + RETURNING + "), "
+                + "forgotten AS (DELETE FROM uploaded_files WHERE invoice_id IN (SELECT id FROM deleted)) "
+                + "SELECT * FROM deleted", params);
+    }
+
+    /**
+     * Physically remove up to {@code limit} invoices soft-deleted before {@code before}.
+     *
+     * @return number of rows removed
+     */
+    public int purgeDeleted(LocalDateTime before, int limit) {
+        return jdbcTemplate.update("DELETE FROM invoices WHERE id IN "
+                + "(SELECT id FROM invoices WHERE deleted_at < ? ORDER BY deleted_at, id LIMIT ?)",
+                Timestamp.valueOf(before), limit);
+    }
+
+    private List<Invoice> query(String sql, List<Object> params) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            for (int i = 0; i < params.size(); i++) {
+                Object param = params.get(i);
+                if (param instanceof Long[] array) {
+                    ps.setArray(i + 1, connection.createArrayOf("bigint", array));
+                } else {
+                    ps.setObject(i + 1, param);
+                }
+            }
+            return ps;
+        }, INVOICE_ROW);
+    }
+
+    private static String where(Collection<Long> ids, Long userId, LocalDate start, LocalDate end, List<Object> params) {
+        if ((ids == null || ids.isEmpty()) && userId == null && start == null && end == null) {
+            throw new IllegalArgumentException("Refusing to delete without a filter");
+        }
+        StringBuilder where = new StringBuilder("deleted_at IS NULL");
+        if (ids != null && !ids.isEmpty()) {
+            where.append(" AND id = ANY(?)");
+            params.add(ids.toArray(new Long[0]));
+        }
+        if (userId != null) {
+            where.append(" AND user_id = ?");
+            params.add(userId);
+        }
+        if (start != null) {
+            where.append(" AND invoice_date >= ?");
+            params.add(Date.valueOf(start));
+        }
+        if (end != null) {
+            where.append(" AND invoice_date <= ?");
+            params.add(Date.valueOf(end));
+        }
+        return where.toString();
+    }
+
+    private static LocalDateTime localDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.aura.app.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only reads of the invoices table for exports. Rows are fetched {@code aura.export.fetch-size} at a
+ * time through a server-side cursor, which PostgreSQL only uses inside a transaction, so callers must hold one.
+ * Only the filters that are given end up in the WHERE clause, so every combination can use its index.
+ */
+@Repository
+public class InvoiceExportRepository {
+
+    private static final String SELECT_SQL = "SELECT id, user_id, invoice_date, metal_type, amount_without_gst, "
+            + "gst_amount, total_amount, created_at, updated_at FROM invoices WHERE deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public InvoiceExportRepository(JdbcTemplate jdbcTemplate,
+                                   @Value("${aura.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /**
+     * Pass every invoice matching the (nullable) filters to {@code handler} in (invoiceDate, id) order.
+     */
+    public void streamInvoices(Long userId, LocalDate start, LocalDate end, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>(3);
+        if (userId != null) {
+            sql.append(" AND user_id = ?");
+            params.add(userId);
+        }
+        if (start != null) {
+            sql.append(" AND invoice_date >= ?");
+            params.add(Date.valueOf(start));
+        }
+        if (end != null) {
+            sql.append(" AND invoice_date <= ?");
+            params.add(Date.valueOf(end));
+        }
+        sql.append(" ORDER BY invoice_date, id");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+}
@@ -1,16 +1,110 @@
 package com.aura.app.repository;
 
 import com.aura.app.model.Invoice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
-    List<Invoice> findByInvoiceDateBetween(LocalDate start, LocalDate end);
+    String STREAM_FETCH_SIZE = "500";
 
-    List<Invoice> findByUserId(Long userId);
+    /**
+     * Aggregate row for one date bucket. The bucket start is rendered as ISO text so the projection does not
+     * depend on how the driver maps native date results.
+     */
+    interface RevenueBucketView {
+        String getBucketStart();
+
+        Long getInvoiceCount();
+
+        BigDecimal getAmountWithoutGst();
+
+        BigDecimal getGstAmount();
+
+        BigDecimal getTotalAmount();
+    }
+
+    List<Invoice> findByInvoiceDateBetweenOrderByInvoiceDateAscIdAsc(LocalDate start, LocalDate end);
+
+    List<Invoice> findByUserIdOrderByInvoiceDateAscIdAsc(Long userId);
+
+    // Native queries bypass the entity's soft-delete restriction and filter on deleted_at themselves.
+
+    // Keyset pages: dated rows in (invoiceDate, id) order, then undated rows in id order.
+    // Row-value comparisons let PostgreSQL seek straight into the (.., invoice_date, id) indexes.
+
+    @Query(nativeQuery = true, value = "SELECT * FROM invoices WHERE deleted_at IS NULL AND (invoice_date, id) > (:date, :id) "
+            + "ORDER BY invoice_date, id LIMIT :limit")
+    List<Invoice> findDatedPageAfter(@Param("date") LocalDate date, @Param("id") long id, @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = "SELECT * FROM invoices WHERE deleted_at IS NULL AND invoice_date IS NULL AND id > :id "
+            + "ORDER BY id LIMIT :limit")
+    List<Invoice> findUndatedPageAfter(@Param("id") long id, @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = "SELECT * FROM invoices WHERE deleted_at IS NULL AND user_id = :userId "
+            + "AND (invoice_date, id) > (:date, :id) ORDER BY invoice_date, id LIMIT :limit")
+    List<Invoice> findDatedPageForUserAfter(@Param("userId") Long userId, @Param("date") LocalDate date,
+                                            @Param("id") long id, @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = "SELECT * FROM invoices WHERE deleted_at IS NULL AND user_id = :userId AND invoice_date IS NULL "
+            + "AND id > :id ORDER BY id LIMIT :limit")
+    List<Invoice> findUndatedPageForUserAfter(@Param("userId") Long userId, @Param("id") long id,
+                                              @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = "SELECT * FROM invoices WHERE deleted_at IS NULL AND invoice_date BETWEEN :start AND :end "
+            + "AND (invoice_date, id) > (:date, :id) ORDER BY invoice_date, id LIMIT :limit")
+    List<Invoice> findDatedPageBetweenAfter(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                            @Param("date") LocalDate date, @Param("id") long id,
+                                            @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = "SELECT * FROM invoices WHERE deleted_at IS NULL AND id > :id ORDER BY id LIMIT :limit")
+    List<Invoice> findPageByIdAfter(@Param("id") long id, @Param("limit") int limit);
+
+    // Forward-only streams for NDJSON responses; callers must consume them inside a transaction
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Invoice> streamAllByOrderByInvoiceDateAscIdAsc();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Invoice> streamByUserIdOrderByInvoiceDateAscIdAsc(Long userId);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Invoice> streamByInvoiceDateBetweenOrderByInvoiceDateAscIdAsc(LocalDate start, LocalDate end);
+
+    /**
+     * Revenue per {@code date_trunc} bucket. Null filters are ignored; undated invoices are excluded.
+     * GROUP BY/ORDER BY use the select position because each bind of :granularity is a distinct parameter.
+     */
+    @Query(nativeQuery = true, value = "SELECT "
+            + "to_char(date_trunc(:granularity, CAST(invoice_date AS timestamp)), 'YYYY-MM-DD') AS bucketStart, "
+            + "COUNT(*) AS invoiceCount, "
+            + "COALESCE(SUM(amount_without_gst), 0) AS amountWithoutGst, "
+            + "COALESCE(SUM(gst_amount), 0) AS gstAmount, "
+            + "COALESCE(SUM(total_amount), 0) AS totalAmount "
+            + "FROM invoices "
+            + "WHERE deleted_at IS NULL AND invoice_date IS NOT NULL "
+            + "AND (CAST(:userId AS bigint) IS NULL OR user_id = :userId) "
+            + "AND (CAST(:metalType AS text) IS NULL OR metal_type = :metalType) "
+            + "AND (CAST(:start AS date) IS NULL OR invoice_date >= :start) "
+            + "AND (CAST(:end AS date) IS NULL OR invoice_date <= :end) "
+            + "GROUP BY 1 ORDER BY 1")
+    List<RevenueBucketView> aggregateRevenue(@Param("granularity") String granularity,
+                                             @Param("userId") Long userId,
+                                             @Param("metalType") String metalType,
+                                             @Param("start") LocalDate start,
+                                             @Param("end") LocalDate end);
 }
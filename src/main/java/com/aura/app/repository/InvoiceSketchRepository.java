@@ -0,0 +1,49 @@
+package com.aura.app.repository;
+
+import com.aura.app.model.InvoiceSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InvoiceSketchRepository extends JpaRepository<InvoiceSketch, Long> {
+
+    /**
+     * Create an empty bucket unless it exists, so it can then be locked with {@link #findForUpdate}.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO invoice_sketches (bucket_year, bucket_month, metal_key, invoice_count) "
+            + "VALUES (:year, :month, :metalKey, 0) "
+            + "ON CONFLICT (bucket_year, bucket_month, metal_key) DO NOTHING")
+    void ensureBucket(@Param("year") int year, @Param("month") int month, @Param("metalKey") String metalKey);
+
+    /**
+     * Lock a bucket for a read-modify-write of its sketches until the surrounding transaction ends.
+     */
+    @Query(nativeQuery = true, value = "SELECT * FROM invoice_sketches "
+            + "WHERE bucket_year = :year AND bucket_month = :month AND metal_key = :metalKey FOR UPDATE")
+    InvoiceSketch findForUpdate(@Param("year") int year, @Param("month") int month, @Param("metalKey") String metalKey);
+
+    /**
+     * Buckets whose month index ({@code year * 12 + month - 1}) lies in {@code [from, to]}, optionally for one metal key.
+     */
+    @Query(nativeQuery = true, value = "SELECT * FROM invoice_sketches "
+            + "WHERE bucket_year * 12 + bucket_month - 1 BETWEEN :from AND :to "
+            + "AND (CAST(:metalKey AS text) IS NULL OR metal_key = :metalKey)")
+    List<InvoiceSketch> findBuckets(@Param("from") int from, @Param("to") int to, @Param("metalKey") String metalKey);
+
+    /**
+     * Block invoice writers until the surrounding rebuild transaction commits.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "LOCK TABLE invoices IN SHARE MODE")
+    void lockInvoices();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM invoice_sketches")
+    int deleteAllBuckets();
+}
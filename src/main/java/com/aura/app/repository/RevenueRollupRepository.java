@@ -0,0 +1,54 @@
+package com.aura.app.repository;
+
+import com.aura.app.model.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Long> {
+
+    /**
+     * Add a delta to a bucket, creating it on first use. Negative deltas are used for deletes.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO revenue_rollups "
+            + "(bucket_year, bucket_month, user_key, metal_key, invoice_count, total_revenue, total_gst) "
+            + "VALUES (:year, :month, :userKey, :metalKey, :count, :revenue, :gst) "
+            + "ON CONFLICT (bucket_year, bucket_month, user_key, metal_key) DO UPDATE SET "
+            + "invoice_count = revenue_rollups.invoice_count + EXCLUDED.invoice_count, "
+            + "total_revenue = revenue_rollups.total_revenue + EXCLUDED.total_revenue, "
+            + "total_gst = revenue_rollups.total_gst + EXCLUDED.total_gst")
+    void applyDelta(@Param("year") int year,
+                    @Param("month") int month,
+                    @Param("userKey") long userKey,
+                    @Param("metalKey") String metalKey,
+                    @Param("count") long count,
+                    @Param("revenue") BigDecimal revenue,
+                    @Param("gst") BigDecimal gst);
+
+    /**
+     * Block invoice writers until the surrounding rebuild transaction commits.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "LOCK TABLE invoices IN SHARE MODE")
+    void lockInvoices();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM revenue_rollups")
+    int deleteAllBuckets();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO revenue_rollups "
+            + "(bucket_year, bucket_month, user_key, metal_key, invoice_count, total_revenue, total_gst) "
+            + "SELECT COALESCE(CAST(EXTRACT(YEAR FROM invoice_date) AS integer), 0), "
+            + "COALESCE(CAST(EXTRACT(MONTH FROM invoice_date) AS integer), 0), "
+            + "COALESCE(user_id, 0), COALESCE(metal_type, ''), COUNT(*), "
+            + "COALESCE(SUM(total_amount), 0), COALESCE(SUM(gst_amount), 0) "
+            + "FROM invoices WHERE deleted_at IS NULL GROUP BY 1, 2, 3, 4")
+    int insertBucketsFromInvoices();
+}
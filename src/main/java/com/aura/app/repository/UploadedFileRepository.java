@@ -0,0 +1,22 @@
+package com.aura.app.repository;
+
+import com.aura.app.model.UploadedFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UploadedFileRepository extends JpaRepository<UploadedFile, Long> {
+
+    Optional<UploadedFile> findByContentHashAndUserKey(String contentHash, long userKey);
+
+    /**
+     * Serialize concurrent uploads of the same content until the surrounding transaction ends, so only the
+     * first one is parsed and stored.
+     */
+    @Query(nativeQuery = true, value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(:key)) AS l")
+    long lockContent(@Param("key") long key);
+}
@@ -0,0 +1,29 @@
+package com.aura.app.service;
+
+import com.aura.app.dto.RevenueBucketDto;
+import com.aura.app.dto.RevenueGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface ColumnarAnalyticsService {
+
+    /**
+     * Whether the initial load has finished; until then callers should answer from the database.
+     */
+    boolean isReady();
+
+    int size();
+
+    /**
+     * Same shape as {@link RevenueRollupService#getRevenueSummary()}.
+     */
+    Map<String, Object> getRevenueSummary();
+
+    /**
+     * Same buckets as the database-side revenue analytics: null filters are ignored, undated invoices excluded.
+     */
+    List<RevenueBucketDto> aggregateRevenue(RevenueGranularity granularity, Long userId, String metalType,
+                                            LocalDate start, LocalDate end);
+}
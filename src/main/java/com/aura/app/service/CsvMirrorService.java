@@ -0,0 +1,17 @@
+package com.aura.app.service;
+
+import com.aura.app.dto.InvoiceRequestDto;
+
+import java.nio.file.Path;
+
+public interface CsvMirrorService {
+
+    /**
+     * Queue an invoice for the CSV mirror without waiting for disk I/O.
+     *
+     * @return {@code false} if the queue was full and the record was dropped
+     */
+    boolean enqueue(InvoiceRequestDto dto);
+
+    Path getActiveFile();
+}
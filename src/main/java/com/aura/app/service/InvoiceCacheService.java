@@ -0,0 +1,12 @@
+package com.aura.app.service;
+
+import java.util.Map;
+
+public interface InvoiceCacheService {
+
+    String REVENUE_SUMMARY = "revenueSummary";
+    String ALL_INVOICES = "allInvoices";
+    String INVOICES_BY_USER = "invoicesByUser";
+
+    Map<String, Object> getStatistics();
+}
@@ -0,0 +1,17 @@
+package com.aura.app.service;
+
+import com.aura.app.dto.ExportFormat;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface InvoiceExportService {
+
+    /**
+     * Write every invoice matching the (nullable) filters to {@code out} in (invoiceDate, id) order.
+     * Output is flushed after every fetched batch of rows so the response starts before the export ends.
+     *
+     * @return number of invoices written
+     */
+    long export(ExportFormat format, Long userId, LocalDate start, LocalDate end, OutputStream out);
+}
@@ -0,0 +1,11 @@
+package com.aura.app.service;
+
+public interface InvoicePurgeService {
+
+    /**
+     * Remove soft-deleted invoices older than the retention period, in chunks.
+     *
+     * @return number of invoices removed
+     */
+    int purgeDeleted();
+}
@@ -1,25 +1,74 @@
 package com.aura.app.service;
 
+import com.aura.app.dto.InvoiceImportResultDto;
+import com.aura.app.dto.InvoicePageDto;
 import com.aura.app.dto.InvoiceRequestDto;
 import com.aura.app.dto.InvoiceResponseDto;
+import com.aura.app.dto.ManualInvoiceResultDto;
+import com.aura.app.dto.RevenueBucketDto;
+import com.aura.app.dto.RevenueGranularity;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface InvoiceService {
     InvoiceResponseDto uploadInvoice(MultipartFile file, Long userId);
 
+    /**
+     * @param multiInvoicePdf parse each PDF as a statement holding several invoices instead of a single one
+     */
+    List<InvoiceImportResultDto> importInvoices(List<MultipartFile> files, Long userId, boolean multiInvoicePdf);
+
+    /**
+     * Import every PDF and CSV entry of a ZIP archive, reporting a result per entry.
+     */
+    List<InvoiceImportResultDto> importArchive(MultipartFile archive, Long userId);
+
     InvoiceResponseDto createManualInvoice(InvoiceRequestDto requestDto);
 
+    /**
+     * Store every invoice of a JSON array or newline-delimited JSON body, reading one element at a time.
+     *
+     * @return one result per element, in body order
+     */
+    List<ManualInvoiceResultDto> createManualInvoices(InputStream body);
+
     List<InvoiceResponseDto> getAllInvoices();
 
     List<InvoiceResponseDto> getInvoicesForUser(Long userId);
 
+    InvoicePageDto getInvoicePage(String cursor, int size);
+
+    InvoicePageDto getInvoicePageForUser(Long userId, String cursor, int size);
+
+    InvoicePageDto getRevenuePageByDate(LocalDate start, LocalDate end, String cursor, int size);
+
+    /**
+     * Stream invoices to {@code sink} in (invoiceDate, id) order without materializing the result.
+     * Null {@code userId} means all users; {@code start}/{@code end} must be given together or not at all.
+     */
+    void streamInvoices(Long userId, LocalDate start, LocalDate end, Consumer<InvoiceResponseDto> sink);
+
     Map<String, Object> getRevenueSummary();
 
+    int rebuildRevenueRollups();
+
     List<InvoiceResponseDto> getRevenueByDate(LocalDate start, LocalDate end);
 
+    List<RevenueBucketDto> getRevenueAnalytics(RevenueGranularity granularity, Long userId, String metalType,
+                                               LocalDate start, LocalDate end);
+
     void deleteInvoice(Long id);
+
+    /**
+     * Delete every invoice matching all given (nullable) filters in one statement; at least one filter is required.
+     * Soft-deletes instead when {@code aura.invoices.soft-delete} is set.
+     *
+     * @return number of invoices deleted
+     */
+    int deleteInvoices(List<Long> ids, Long userId, LocalDate start, LocalDate end);
 }
@@ -0,0 +1,23 @@
+package com.aura.app.service;
+
+import com.aura.app.dto.RevenueGranularity;
+import com.aura.app.dto.SketchBucketDto;
+import com.aura.app.model.Invoice;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface InvoiceSketchService {
+
+    void recordCreated(Collection<Invoice> invoices);
+
+    /**
+     * Merge the monthly sketches into {@code MONTH} or {@code YEAR} periods, per metal type when {@code byMetal}
+     * is set and across all metal types otherwise. Null filters are ignored.
+     */
+    List<SketchBucketDto> getSketchAnalytics(RevenueGranularity granularity, String metalType, boolean byMetal,
+                                             LocalDate start, LocalDate end);
+
+    int rebuild();
+}
@@ -0,0 +1,14 @@
+package com.aura.app.service;
+
+import java.util.function.Supplier;
+
+public interface ParseAdmissionService {
+
+    /**
+     * Run {@code work} once a parse slot and {@code estimatedBytes} of the memory budget are free, waiting in a
+     * short bounded queue if necessary.
+     *
+     * @throws com.aura.app.exception.ParseOverloadedException when the queue is full or the wait times out
+     */
+    <T> T admit(long estimatedBytes, Supplier<T> work);
+}
@@ -3,7 +3,14 @@ package com.aura.app.service;
 import com.aura.app.dto.InvoiceRequestDto;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 public interface PdfParserService {
 
     InvoiceRequestDto parseInvoice(MultipartFile file);
+
+    /**
+     * Multi-invoice mode: split the document at invoice boundaries and return one request per invoice.
+     */
+    List<InvoiceRequestDto> parseInvoices(MultipartFile file);
 }
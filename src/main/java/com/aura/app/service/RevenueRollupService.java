@@ -0,0 +1,17 @@
+package com.aura.app.service;
+
+import com.aura.app.model.Invoice;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface RevenueRollupService {
+
+    void recordCreated(Collection<Invoice> invoices);
+
+    void recordDeleted(Collection<Invoice> invoices);
+
+    Map<String, Object> getRevenueSummary();
+
+    int rebuild();
+}
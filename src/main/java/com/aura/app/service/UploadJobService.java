@@ -0,0 +1,13 @@
+package com.aura.app.service;
+
+import com.aura.app.dto.UploadJobDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+
+public interface UploadJobService {
+
+    UploadJobDto submitUpload(MultipartFile file, Long userId);
+
+    Optional<UploadJobDto> getJob(String id);
+}
@@ -0,0 +1,455 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.dto.RevenueBucketDto;
+import com.aura.app.dto.RevenueGranularity;
+import com.aura.app.event.InvoicesChangedEvent;
+import com.aura.app.model.Invoice;
+import com.aura.app.repository.InvoiceRepository;
+import com.aura.app.service.ColumnarAnalyticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory mirror of the {@code invoices} table held as primitive columns: dates as epoch days, amounts as
+ * longs in units of 10^-4 (the scale of the amount columns), users and metal types as dictionary codes.
+ * Aggregations are single passes over these arrays with no per-row allocation.
+ * <p>
+ * The table is loaded at startup in id order, {@code aura.analytics.columnar.load-chunk-size} rows per query,
+ * and then follows {@link InvoicesChangedEvent}s after commit. Events that arrive during the load are replayed
+ * once it finishes, skipping created invoices the load already read. After that, created invoices are appended
+ * without touching existing rows; only deletes compact the columns.
+ * The listener runs before the cache invalidation, so a re-cached summary never predates the write.
+ */
+@Service
+@ConditionalOnProperty(name = "aura.analytics.columnar.enabled", havingValue = "true")
+public class ColumnarAnalyticsServiceImpl implements ColumnarAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarAnalyticsServiceImpl.class);
+
+    private static final int AMOUNT_SCALE = 4;
+    private static final int UNDATED = Integer.MIN_VALUE;
+    // Dictionary code of a missing user or metal type; filters use ANY for "no filter"
+    private static final int NONE = 0;
+    private static final int ANY = -1;
+
+    private final InvoiceRepository invoiceRepository;
+    private final int loadChunkSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] ids = new long[1024];
+    private int[] days = new int[1024];
+    private int[] months = new int[1024];
+    private long[] amountsWithoutGst = new long[1024];
+    private long[] gstAmounts = new long[1024];
+    private long[] totalAmounts = new long[1024];
+    private int[] users = new int[1024];
+    private int[] metals = new int[1024];
+    private int size;
+
+    private final Map<Long, Integer> userCodes = new HashMap<>();
+    private final List<Long> userKeys = new ArrayList<>(List.of(0L));
+    private final Map<String, Integer> metalCodes = new HashMap<>();
+    private final List<String> metalKeys = new ArrayList<>(List.of(""));
+
+    private boolean ready;
+    private final List<InvoicesChangedEvent> pending = new ArrayList<>();
+
+    public ColumnarAnalyticsServiceImpl(InvoiceRepository invoiceRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${aura.analytics.columnar.load-chunk-size:10000}") int loadChunkSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.loadChunkSize = Math.max(1, loadChunkSize);
+        meterRegistry.gauge("aura.analytics.columnar.rows", this, ColumnarAnalyticsServiceImpl::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        long afterId = 0;
+        List<Invoice> chunk;
+        do {
+            chunk = invoiceRepository.findPageByIdAfter(afterId, loadChunkSize);
+            lock.writeLock().lock();
+            try {
+                for (Invoice invoice : chunk) {
+                    append(invoice);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == loadChunkSize);
+
+        lock.writeLock().lock();
+        try {
+            replayPending();
+            ready = true;
+            log.info("Loaded {} invoices into the columnar analytics store in {} ms", size,
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInvoicesChanged(InvoicesChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getRevenueSummary() {
+        lock.readLock().lock();
+        try {
+            long totalRevenue = 0;
+            long totalGst = 0;
+            // Counts keep the keys to months, users and metals that have invoices, as in the rollup summary
+            long[] byMonth = new long[12];
+            int[] monthCounts = new int[12];
+            long[] byUser = new long[userKeys.size()];
+            int[] userCounts = new int[userKeys.size()];
+            long[] byMetal = new long[metalKeys.size()];
+            int[] metalCounts = new int[metalKeys.size()];
+            BucketAccumulator byYear = new BucketAccumulator();
+
+            for (int i = 0; i < size; i++) {
+                long total = totalAmounts[i];
+                totalRevenue += total;
+                totalGst += gstAmounts[i];
+                int month = months[i];
+                if (month != UNDATED) {
+                    int monthOfYear = Math.floorMod(month, 12);
+                    byMonth[monthOfYear] += total;
+                    monthCounts[monthOfYear]++;
+                    byYear.add(Math.floorDiv(month, 12), 0, 0, total);
+                }
+                byUser[users[i]] += total;
+                userCounts[users[i]]++;
+                byMetal[metals[i]] += total;
+                metalCounts[metals[i]]++;
+            }
+
+            Map<Integer, BigDecimal> monthlyRevenue = new HashMap<>();
+            Map<Integer, BigDecimal> yearlyRevenue = new HashMap<>();
+            Map<Long, BigDecimal> revenueByUser = new HashMap<>();
+            Map<String, BigDecimal> revenueByMetal = new HashMap<>();
+            for (int month = 0; month < 12; month++) {
+                if (monthCounts[month] > 0) {
+                    monthlyRevenue.put(month + 1, amount(byMonth[month]));
+                }
+            }
+            byYear.forEachSorted((year, count, amountWithoutGst, gst, total) -> yearlyRevenue.put(year, amount(total)));
+            for (int code = 1; code < byUser.length; code++) {
+                if (userCounts[code] > 0) {
+                    revenueByUser.put(userKeys.get(code), amount(byUser[code]));
+                }
+            }
+            for (int code = 1; code < byMetal.length; code++) {
+                if (metalCounts[code] > 0 && !metalKeys.get(code).isEmpty()) {
+                    revenueByMetal.put(metalKeys.get(code), amount(byMetal[code]));
+                }
+            }
+
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("totalRevenue", amount(totalRevenue));
+            summary.put("totalGst", amount(totalGst));
+            summary.put("monthlyRevenue", monthlyRevenue);
+            summary.put("yearlyRevenue", yearlyRevenue);
+            summary.put("revenueByUser", revenueByUser);
+            summary.put("revenueByMetal", revenueByMetal);
+            return summary;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<RevenueBucketDto> aggregateRevenue(RevenueGranularity granularity, Long userId, String metalType,
+                                                   LocalDate start, LocalDate end) {
+        lock.readLock().lock();
+        try {
+            int user = userId != null ? userCodes.getOrDefault(userId, NONE) : ANY;
+            int metal = metalType != null ? metalCodes.getOrDefault(metalType, NONE) : ANY;
+            if (user == NONE || metal == NONE) {
+                return List.of();
+            }
+            int from = start != null ? (int) start.toEpochDay() : UNDATED + 1;
+            int to = end != null ? (int) end.toEpochDay() : Integer.MAX_VALUE;
+
+            BucketAccumulator buckets = new BucketAccumulator();
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (day == UNDATED || day < from || day > to
+                        || (user != ANY && users[i] != user) || (metal != ANY && metals[i] != metal)) {
+                    continue;
+                }
+                int key = switch (granularity) {
+                    case DAY -> day;
+                    // date_trunc('week') starts weeks on Monday; epoch day 0 was a Thursday
+                    case WEEK -> day - Math.floorMod(day + 3, 7);
+                    case MONTH -> months[i];
+                    case YEAR -> Math.floorDiv(months[i], 12);
+                };
+                buckets.add(key, amountsWithoutGst[i], gstAmounts[i], totalAmounts[i]);
+            }
+
+            List<RevenueBucketDto> result = new ArrayList<>(buckets.size);
+            buckets.forEachSorted((key, count, amountWithoutGst, gst, total) -> {
+                RevenueBucketDto dto = new RevenueBucketDto();
+                dto.setBucketStart(switch (granularity) {
+                    case DAY, WEEK -> LocalDate.ofEpochDay(key);
+                    case MONTH -> LocalDate.of(Math.floorDiv(key, 12), Math.floorMod(key, 12) + 1, 1);
+                    case YEAR -> LocalDate.of(key, 1, 1);
+                });
+                dto.setInvoiceCount(count);
+                dto.setAmountWithoutGst(amount(amountWithoutGst));
+                dto.setGstAmount(amount(gst));
+                dto.setTotalAmount(amount(total));
+                result.add(dto);
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(InvoicesChangedEvent event) {
+        event.getCreated().forEach(this::append);
+        if (!event.getDeleted().isEmpty()) {
+            remove(event.getDeleted());
+        }
+    }
+
+    /**
+     * Apply the events that committed while the table was loading. The load may already have read their
+     * invoices; the loaded rows are in id order, so a created invoice is added only when a binary search over
+     * them misses its id. Deletes are collected into a single compacting pass.
+     */
+    private void replayPending() {
+        int loaded = size;
+        List<Invoice> deleted = new ArrayList<>();
+        for (InvoicesChangedEvent event : pending) {
+            for (Invoice invoice : event.getCreated()) {
+                if (invoice.getId() == null || Arrays.binarySearch(ids, 0, loaded, invoice.getId()) < 0) {
+                    append(invoice);
+                }
+            }
+            deleted.addAll(event.getDeleted());
+        }
+        remove(deleted);
+        pending.clear();
+    }
+
+    private void append(Invoice invoice) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            days = Arrays.copyOf(days, capacity);
+            months = Arrays.copyOf(months, capacity);
+            amountsWithoutGst = Arrays.copyOf(amountsWithoutGst, capacity);
+            gstAmounts = Arrays.copyOf(gstAmounts, capacity);
+            totalAmounts = Arrays.copyOf(totalAmounts, capacity);
+            users = Arrays.copyOf(users, capacity);
+            metals = Arrays.copyOf(metals, capacity);
+        }
+        LocalDate date = invoice.getInvoiceDate();
+        ids[size] = invoice.getId() != null ? invoice.getId() : 0L;
+        days[size] = date != null ? (int) date.toEpochDay() : UNDATED;
+        months[size] = date != null ? date.getYear() * 12 + date.getMonthValue() - 1 : UNDATED;
+        amountsWithoutGst[size] = minorUnits(invoice.getAmountWithoutGst());
+        gstAmounts[size] = minorUnits(invoice.getGstAmount());
+        totalAmounts[size] = minorUnits(invoice.getTotalAmount());
+        users[size] = invoice.getUserId() != null ? code(invoice.getUserId(), userCodes, userKeys) : NONE;
+        metals[size] = invoice.getMetalType() != null ? code(invoice.getMetalType(), metalCodes, metalKeys) : NONE;
+        size++;
+    }
+
+    /**
+     * Drop the rows of the given invoices in one compacting pass.
+     */
+    private void remove(List<Invoice> invoices) {
+        long[] removed = invoices.stream()
+                .filter(invoice -> invoice.getId() != null)
+                .mapToLong(Invoice::getId)
+                .sorted()
+                .toArray();
+        if (removed.length == 0) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (Arrays.binarySearch(removed, ids[i]) >= 0) {
+                continue;
+            }
+            if (kept != i) {
+                ids[kept] = ids[i];
+                days[kept] = days[i];
+                months[kept] = months[i];
+                amountsWithoutGst[kept] = amountsWithoutGst[i];
+                gstAmounts[kept] = gstAmounts[i];
+                totalAmounts[kept] = totalAmounts[i];
+                users[kept] = users[i];
+                metals[kept] = metals[i];
+            }
+            kept++;
+        }
+        size = kept;
+    }
+
+    private static <K> int code(K key, Map<K, Integer> codes, List<K> keys) {
+        return codes.computeIfAbsent(key, k -> {
+            keys.add(k);
+            return keys.size() - 1;
+        });
+    }
+
+    /**
+     * Round to the scale of the amount columns the way PostgreSQL stores the value, half away from zero.
+     */
+    private static long minorUnits(BigDecimal amount) {
+        return amount != null ? amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0L;
+    }
+
+    private static BigDecimal amount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, AMOUNT_SCALE);
+    }
+
+    @FunctionalInterface
+    private interface BucketConsumer {
+        void accept(int key, long count, long amountWithoutGst, long gst, long total);
+    }
+
+    /**
+     * Sums per bucket key in an open-addressing table, so grouping does not box a key per row.
+     */
+    private static final class BucketAccumulator {
+
+        private int[] keys = new int[64];
+        private boolean[] used = new boolean[64];
+        private long[] counts = new long[64];
+        private long[] amountsWithoutGst = new long[64];
+        private long[] gstAmounts = new long[64];
+        private long[] totalAmounts = new long[64];
+        private int size;
+
+        void add(int key, long amountWithoutGst, long gst, long total) {
+            int slot = slot(key);
+            counts[slot]++;
+            amountsWithoutGst[slot] += amountWithoutGst;
+            gstAmounts[slot] += gst;
+            totalAmounts[slot] += total;
+        }
+
+        void forEachSorted(BucketConsumer consumer) {
+            int[] sorted = new int[size];
+            int n = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (used[slot]) {
+                    sorted[n++] = keys[slot];
+                }
+            }
+            Arrays.sort(sorted);
+            for (int key : sorted) {
+                int slot = slot(key);
+                consumer.accept(key, counts[slot], amountsWithoutGst[slot], gstAmounts[slot], totalAmounts[slot]);
+            }
+        }
+
+        private int slot(int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size * 2 >= keys.length) {
+                grow();
+                return slot(key);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            boolean[] oldUsed = used;
+            long[] oldCounts = counts;
+            long[] oldAmounts = amountsWithoutGst;
+            long[] oldGst = gstAmounts;
+            long[] oldTotals = totalAmounts;
+            int capacity = oldKeys.length * 2;
+            keys = new int[capacity];
+            used = new boolean[capacity];
+            counts = new long[capacity];
+            amountsWithoutGst = new long[capacity];
+            gstAmounts = new long[capacity];
+            totalAmounts = new long[capacity];
+            size = 0;
+            for (int old = 0; old < oldKeys.length; old++) {
+                if (oldUsed[old]) {
+                    int slot = slot(oldKeys[old]);
+                    counts[slot] = oldCounts[old];
+                    amountsWithoutGst[slot] = oldAmounts[old];
+                    gstAmounts[slot] = oldGst[old];
+                    totalAmounts[slot] = oldTotals[old];
+                }
+            }
+        }
+    }
+}
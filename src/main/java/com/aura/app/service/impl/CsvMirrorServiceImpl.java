@@ -0,0 +1,281 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.dto.InvoiceRequestDto;
+import com.aura.app.service.CsvMirrorService;
+import com.aura.app.utils.CsvWriterUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only writer for the parsed-invoice CSV mirror.
+ * <p>
+ * Upload threads only enqueue a rendered line. A single writer thread owns one long-lived {@link FileChannel},
+ * drains whatever has queued up and writes it as one group commit. Durability follows
+ * {@code aura.csv.fsync}: {@code never} leaves flushing to the OS, {@code batch} forces every group commit
+ * and {@code interval} forces at most once per {@code aura.csv.fsync-interval-ms}. The active file is rotated
+ * when it would exceed {@code aura.csv.rotate-max-bytes} or when the day changes.
+ * <p>
+ * Group commits are timed as {@code aura.csv.append} with their size in {@code aura.csv.append.lines};
+ * {@code aura.csv.queue.depth} and {@code aura.csv.dropped} show back-pressure.
+ */
+@Service
+public class CsvMirrorServiceImpl implements CsvMirrorService {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvMirrorServiceImpl.class);
+
+    private static final String STOP = "\u0000stop";
+
+    enum FsyncPolicy {
+        NEVER,
+        BATCH,
+        INTERVAL
+    }
+
+    private final Path directory;
+    private final Path activeFile;
+    private final BlockingQueue<String> queue;
+    private final int maxBatch;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final long rotateMaxBytes;
+    private final boolean rotateDaily;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Timer appendTimer;
+    private final DistributionSummary appendLines;
+
+    private Thread writerThread;
+    private FileChannel channel;
+    private LocalDate activeDay;
+    private long lastFsyncNanos;
+    private boolean dirty;
+
+    public CsvMirrorServiceImpl(MeterRegistry meterRegistry,
+                                @Value("${aura.csv.output-dir:output}") String outputDir,
+                                @Value("${aura.csv.file-name:invoices_parsed.csv}") String fileName,
+                                @Value("${aura.csv.queue-capacity:10000}") int queueCapacity,
+                                @Value("${aura.csv.max-batch:500}") int maxBatch,
+                                @Value("${aura.csv.fsync:interval}") String fsyncPolicy,
+                                @Value("${aura.csv.fsync-interval-ms:1000}") long fsyncIntervalMs,
+                                @Value("${aura.csv.rotate-max-bytes:67108864}") long rotateMaxBytes,
+                                @Value("${aura.csv.rotate-daily:false}") boolean rotateDaily) {
+        this.directory = Paths.get(outputDir);
+        this.activeFile = directory.resolve(fileName);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.fsyncPolicy = FsyncPolicy.valueOf(fsyncPolicy.trim().toUpperCase(Locale.ROOT));
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        this.rotateMaxBytes = rotateMaxBytes;
+        this.rotateDaily = rotateDaily;
+        this.appendTimer = meterRegistry.timer("aura.csv.append");
+        this.appendLines = meterRegistry.summary("aura.csv.append.lines");
+        meterRegistry.gauge("aura.csv.queue.depth", queue, BlockingQueue::size);
+        meterRegistry.more().counter("aura.csv.dropped", List.of(), dropped);
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread = new Thread(this::runWriter, "csv-mirror-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public boolean enqueue(InvoiceRequestDto dto) {
+        if (queue.offer(CsvWriterUtil.toCsvLine(dto))) {
+            return true;
+        }
+        long total = dropped.incrementAndGet();
+        log.warn("CSV mirror queue is full, dropped record ({} dropped so far)", total);
+        return false;
+    }
+
+    @Override
+    public Path getActiveFile() {
+        return activeFile.toAbsolutePath();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        // Everything queued before the stop marker is still written
+        queue.put(STOP);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void runWriter() {
+        List<String> batch = new ArrayList<>(maxBatch);
+        StringBuilder text = new StringBuilder(maxBatch * 64);
+        boolean running = true;
+        try {
+            while (running) {
+                String first = fsyncPolicy == FsyncPolicy.INTERVAL && dirty
+                        ? queue.poll(fsyncIntervalNanos, TimeUnit.NANOSECONDS)
+                        : queue.take();
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - 1);
+                    running = writeBatch(batch, text);
+                    batch.clear();
+                }
+                if (fsyncPolicy == FsyncPolicy.INTERVAL && dirty
+                        && System.nanoTime() - lastFsyncNanos >= fsyncIntervalNanos) {
+                    force();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * @return {@code false} once the stop marker has been seen
+     */
+    private boolean writeBatch(List<String> batch, StringBuilder text) {
+        boolean running = true;
+        int lines = 0;
+        text.setLength(0);
+        for (String line : batch) {
+            if (STOP.equals(line)) {
+                running = false;
+                continue;
+            }
+            text.append(line).append('\n');
+            lines++;
+        }
+        if (lines == 0) {
+            return running;
+        }
+
+        long start = System.nanoTime();
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            ensureChannel(bytes.length);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            dirty = true;
+            if (fsyncPolicy == FsyncPolicy.BATCH) {
+                force();
+            }
+            appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            appendLines.record(lines);
+        } catch (IOException e) {
+            log.error("Failed to write {} line(s) to CSV mirror {}", lines, activeFile, e);
+            closeChannel();
+        }
+        return running;
+    }
+
+    private void ensureChannel(int pendingBytes) throws IOException {
+        LocalDate today = LocalDate.now();
+        if (channel != null) {
+            boolean dayChanged = rotateDaily && !today.equals(activeDay);
+            boolean tooLarge = rotateMaxBytes > 0 && channel.size() > 0 && channel.size() + pendingBytes > rotateMaxBytes;
+            if (!dayChanged && !tooLarge) {
+                return;
+            }
+            closeChannel();
+            rotate(activeDay);
+        } else if (rotateDaily && Files.exists(activeFile)) {
+            // Left over from a previous run on an earlier day
+            LocalDate fileDay = LocalDate.ofInstant(Files.getLastModifiedTime(activeFile).toInstant(), ZoneId.systemDefault());
+            if (!fileDay.equals(today)) {
+                rotate(fileDay);
+            }
+        }
+
+        Files.createDirectories(directory);
+        channel = FileChannel.open(activeFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        activeDay = today;
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.wrap((CsvWriterUtil.HEADER + "\n").getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private void rotate(LocalDate day) throws IOException {
+        if (!Files.exists(activeFile)) {
+            return;
+        }
+        String fileName = activeFile.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        Path target;
+        int sequence = 1;
+        do {
+            target = directory.resolve(base + "-" + day + "-" + sequence++ + extension);
+        } while (Files.exists(target));
+        Files.move(activeFile, target, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Rotated CSV mirror to {}", target);
+    }
+
+    private void force() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            dirty = false;
+            lastFsyncNanos = System.nanoTime();
+        } catch (IOException e) {
+            log.error("Failed to fsync CSV mirror {}", activeFile, e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (dirty) {
+                channel.force(false);
+            }
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close CSV mirror {}", activeFile, e);
+        } finally {
+            channel = null;
+            dirty = false;
+        }
+    }
+}
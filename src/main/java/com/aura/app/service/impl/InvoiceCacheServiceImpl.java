@@ -0,0 +1,81 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.event.InvoicesChangedEvent;
+import com.aura.app.model.Invoice;
+import com.aura.app.service.InvoiceCacheService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Invalidates the invoice read caches after a write commits. Only the per-user lists of the users touched by
+ * the write are evicted; the all-invoices list and the summary depend on every invoice and are cleared.
+ */
+@Service
+public class InvoiceCacheServiceImpl implements InvoiceCacheService {
+
+    private final CacheManager cacheManager;
+
+    public InvoiceCacheServiceImpl(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInvoicesChanged(InvoicesChangedEvent event) {
+        Set<Long> userIds = new HashSet<>();
+        collectUserIds(event.getCreated(), userIds);
+        collectUserIds(event.getDeleted(), userIds);
+
+        Cache byUser = cacheManager.getCache(INVOICES_BY_USER);
+        if (byUser != null) {
+            userIds.forEach(byUser::evict);
+        }
+        clear(ALL_INVOICES);
+        clear(REVENUE_SUMMARY);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (String name : List.of(REVENUE_SUMMARY, ALL_INVOICES, INVOICES_BY_USER)) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", caffeineCache.getNativeCache().estimatedSize());
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            statistics.put(name, entry);
+        }
+        return statistics;
+    }
+
+    private void collectUserIds(List<Invoice> invoices, Set<Long> userIds) {
+        for (Invoice invoice : invoices) {
+            if (invoice.getUserId() != null) {
+                userIds.add(invoice.getUserId());
+            }
+        }
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
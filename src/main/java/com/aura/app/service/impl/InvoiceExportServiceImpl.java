@@ -0,0 +1,161 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.dto.ExportFormat;
+import com.aura.app.repository.InvoiceExportRepository;
+import com.aura.app.service.InvoiceExportService;
+import com.aura.app.utils.CsvWriterUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Renders invoices straight from the export cursor: one reused line buffer for CSV, one streaming
+ * {@link JsonGenerator} for NDJSON, so memory stays flat however many rows are exported.
+ * Exported rows are counted as {@code aura.export.rows} per format.
+ */
+@Service
+public class InvoiceExportServiceImpl implements InvoiceExportService {
+
+    private static final String CSV_HEADER =
+            "id,userId,invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount,createdAt,updatedAt";
+
+    private final InvoiceExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public InvoiceExportServiceImpl(InvoiceExportRepository exportRepository, ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, Long userId, LocalDate start, LocalDate end, OutputStream out) {
+        long[] rows = new long[1];
+        int flushEvery = exportRepository.getFetchSize();
+        try {
+            if (format == ExportFormat.CSV) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                StringBuilder line = new StringBuilder(128);
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                writer.flush();
+                exportRepository.streamInvoices(userId, start, end, rs -> {
+                    line.setLength(0);
+                    appendCsv(line, rs);
+                    line.append('\n');
+                    try {
+                        writer.append(line);
+                        if (++rows[0] % flushEvery == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } else {
+                JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+                // Records are separated by the newline written after each one, not Jackson's default space
+                json.setRootValueSeparator(null);
+                exportRepository.streamInvoices(userId, start, end, rs -> {
+                    try {
+                        writeJson(json, rs);
+                        json.writeRaw('\n');
+                        if (++rows[0] % flushEvery == 0) {
+                            json.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            meterRegistry.counter("aura.export.rows", "format", format.extension()).increment(rows[0]);
+        }
+        return rows[0];
+    }
+
+    private static void appendCsv(StringBuilder line, ResultSet rs) throws SQLException {
+        line.append(rs.getLong(1)).append(',');
+        CsvWriterUtil.appendValue(line, nullableLong(rs, 2));
+        line.append(',');
+        CsvWriterUtil.appendValue(line, localDate(rs.getDate(3)));
+        line.append(',');
+        CsvWriterUtil.appendValue(line, rs.getString(4));
+        line.append(',');
+        CsvWriterUtil.appendValue(line, rs.getBigDecimal(5));
+        line.append(',');
+        CsvWriterUtil.appendValue(line, rs.getBigDecimal(6));
+        line.append(',');
+        CsvWriterUtil.appendValue(line, rs.getBigDecimal(7));
+        line.append(',');
+        CsvWriterUtil.appendValue(line, timestamp(rs.getTimestamp(8)));
+        line.append(',');
+        CsvWriterUtil.appendValue(line, timestamp(rs.getTimestamp(9)));
+    }
+
+    /**
+     * Same field names as {@link com.aura.app.dto.InvoiceResponseDto}; absent values are written as null.
+     */
+    private static void writeJson(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getLong(1));
+        Long userId = nullableLong(rs, 2);
+        if (userId != null) {
+            json.writeNumberField("userId", userId);
+        } else {
+            json.writeNullField("userId");
+        }
+        json.writeStringField("invoiceDate", localDate(rs.getDate(3)));
+        json.writeStringField("metalType", rs.getString(4));
+        writeAmount(json, "amountWithoutGst", rs.getBigDecimal(5));
+        writeAmount(json, "gstAmount", rs.getBigDecimal(6));
+        writeAmount(json, "totalAmount", rs.getBigDecimal(7));
+        json.writeStringField("createdAt", timestamp(rs.getTimestamp(8)));
+        json.writeStringField("updatedAt", timestamp(rs.getTimestamp(9)));
+        json.writeEndObject();
+    }
+
+    private static void writeAmount(JsonGenerator json, String field, BigDecimal amount) throws IOException {
+        if (amount != null) {
+            json.writeNumberField(field, amount);
+        } else {
+            json.writeNullField(field);
+        }
+    }
+
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static String localDate(Date date) {
+        return date != null ? date.toLocalDate().toString() : null;
+    }
+
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.repository.InvoiceBatchRepository;
+import com.aura.app.service.InvoicePurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Physically removes soft-deleted invoices once they are older than {@code aura.invoices.purge.retention-minutes}.
+ * Each chunk of {@code aura.invoices.purge.chunk-size} rows is its own statement and transaction, so a large purge
+ * never holds long locks. Rollups and caches were already adjusted when the rows were soft-deleted.
+ * <p>
+ * Runs every {@code aura.invoices.purge.interval-minutes} while {@code aura.invoices.soft-delete} is set;
+ * removed rows are counted as {@code aura.invoices.purged}.
+ */
+@Service
+public class InvoicePurgeServiceImpl implements InvoicePurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoicePurgeServiceImpl.class);
+
+    private final InvoiceBatchRepository invoiceBatchRepository;
+    private final boolean softDelete;
+    private final Duration retention;
+    private final long intervalMinutes;
+    private final int chunkSize;
+    private final Counter purged;
+
+    private ScheduledExecutorService scheduler;
+
+    public InvoicePurgeServiceImpl(InvoiceBatchRepository invoiceBatchRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${aura.invoices.soft-delete:false}") boolean softDelete,
+                                   @Value("${aura.invoices.purge.retention-minutes:1440}") long retentionMinutes,
+                                   @Value("${aura.invoices.purge.interval-minutes:60}") long intervalMinutes,
+                                   @Value("${aura.invoices.purge.chunk-size:1000}") int chunkSize) {
+        this.invoiceBatchRepository = invoiceBatchRepository;
+        this.softDelete = softDelete;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.intervalMinutes = Math.max(1, intervalMinutes);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.purged = meterRegistry.counter("aura.invoices.purged");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!softDelete) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invoice-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                purgeDeleted();
+            } catch (RuntimeException e) {
+                log.error("Purge of soft-deleted invoices failed", e);
+            }
+        }, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public int purgeDeleted() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int removed;
+        do {
+            removed = invoiceBatchRepository.purgeDeleted(before, chunkSize);
+            purged.increment(removed);
+            total += removed;
+        } while (removed == chunkSize && !Thread.currentThread().isInterrupted());
+        if (total > 0) {
+            log.info("Purged {} soft-deleted invoices", total);
+        }
+        return total;
+    }
+}
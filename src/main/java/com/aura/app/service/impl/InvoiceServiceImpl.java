@@ -1,28 +1,82 @@
 package com.aura.app.service.impl;
 
+import com.aura.app.dto.InvoiceImportResultDto;
+import com.aura.app.dto.InvoicePageDto;
 import com.aura.app.dto.InvoiceRequestDto;
 import com.aura.app.dto.InvoiceResponseDto;
+import com.aura.app.dto.ManualInvoiceResultDto;
+import com.aura.app.dto.RevenueBucketDto;
+import com.aura.app.dto.RevenueGranularity;
+import com.aura.app.event.InvoicesChangedEvent;
 import com.aura.app.model.Invoice;
+import com.aura.app.model.UploadedFile;
+import com.aura.app.repository.InvoiceBatchRepository;
 import com.aura.app.repository.InvoiceRepository;
+import com.aura.app.repository.UploadedFileRepository;
+import com.aura.app.service.ColumnarAnalyticsService;
+import com.aura.app.service.CsvMirrorService;
+import com.aura.app.service.InvoiceCacheService;
 import com.aura.app.service.InvoiceService;
+import com.aura.app.service.InvoiceSketchService;
 import com.aura.app.service.PdfParserService;
-import com.aura.app.utils.CsvWriterUtil;
+import com.aura.app.service.RevenueRollupService;
+import com.aura.app.utils.ContentHash;
+import com.aura.app.utils.CsvInvoiceReader;
+import com.aura.app.utils.InMemoryMultipartFile;
+import com.aura.app.utils.InvoiceCursor;
+import com.aura.app.utils.SpooledMultipartFile;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,49 +84,334 @@ import java.util.stream.Collectors;
 public class InvoiceServiceImpl implements InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
+    private final InvoiceBatchRepository invoiceBatchRepository;
+    private final UploadedFileRepository uploadedFileRepository;
     private final PdfParserService pdfParserService;
-
-    public InvoiceServiceImpl(InvoiceRepository invoiceRepository, PdfParserService pdfParserService) {
+    private final RevenueRollupService revenueRollupService;
+    private final InvoiceSketchService invoiceSketchService;
+    private final CsvMirrorService csvMirrorService;
+    private final ColumnarAnalyticsService columnarAnalytics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger uploadsInFlight;
+    private final TransactionTemplate chunkTransaction;
+    private final TransactionTemplate lookupTransaction;
+    private final TransactionTemplate persistTransaction;
+    private final ThreadPoolExecutor archiveExecutor;
+    private final int archiveMaxEntries;
+    private final int archiveMaxEntryBytes;
+    private final int importBatchSize;
+    private final int maxPageSize;
+    private final boolean softDelete;
+
+    public InvoiceServiceImpl(InvoiceRepository invoiceRepository,
+                              InvoiceBatchRepository invoiceBatchRepository,
+                              UploadedFileRepository uploadedFileRepository,
+                              PdfParserService pdfParserService,
+                              RevenueRollupService revenueRollupService,
+                              InvoiceSketchService invoiceSketchService,
+                              CsvMirrorService csvMirrorService,
+                              ObjectProvider<ColumnarAnalyticsService> columnarAnalytics,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${aura.import.batch-size:1000}") int importBatchSize,
+                              @Value("${aura.invoices.max-page-size:1000}") int maxPageSize,
+                              @Value("${aura.import.zip.parallelism:4}") int archiveParallelism,
+                              @Value("${aura.import.zip.max-entries:10000}") int archiveMaxEntries,
+                              @Value("${aura.import.zip.max-entry-bytes:16777216}") int archiveMaxEntryBytes,
+                              @Value("${aura.invoices.soft-delete:false}") boolean softDelete) {
         this.invoiceRepository = invoiceRepository;
+        this.invoiceBatchRepository = invoiceBatchRepository;
+        this.uploadedFileRepository = uploadedFileRepository;
         this.pdfParserService = pdfParserService;
+        this.revenueRollupService = revenueRollupService;
+        this.invoiceSketchService = invoiceSketchService;
+        this.csvMirrorService = csvMirrorService;
+        this.columnarAnalytics = columnarAnalytics.getIfAvailable();
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.uploadsInFlight = meterRegistry.gauge("aura.upload.in.flight", new AtomicInteger());
+        this.importBatchSize = Math.max(1, importBatchSize);
+        this.maxPageSize = Math.max(1, maxPageSize);
+
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lookupTransaction = new TransactionTemplate(transactionManager);
+        this.lookupTransaction.setReadOnly(true);
+        this.persistTransaction = new TransactionTemplate(transactionManager);
+        // Queue no more entries than there are workers; beyond that the reading thread parses the entry itself,
+        // which caps the number of archive entries held in memory
+        int workers = Math.max(1, archiveParallelism);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.archiveExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "invoice-archive-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.archiveMaxEntries = archiveMaxEntries;
+        this.archiveMaxEntryBytes = archiveMaxEntryBytes;
+        this.softDelete = softDelete;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiveExecutor.shutdown();
     }
 
+    /**
+     * Uploads are timed as {@code aura.upload} per file type and outcome (stored, duplicate, failed), with
+     * each step under {@code aura.upload.stage}; {@code aura.upload.in.flight} counts uploads in progress.
+     * <p>
+     * Parsing runs outside any transaction, so a slow PDF never holds a pooled connection. The time an upload
+     * does hold one (duplicate lookup plus the persist transaction) is recorded as
+     * {@code aura.upload.connection.hold}.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public InvoiceResponseDto uploadInvoice(MultipartFile file, Long userId) {
-        // Parse uploaded file to a single invoice request (PDF or CSV)
-        List<InvoiceRequestDto> requestDtos = parseFileToInvoices(file);
-        if (requestDtos.isEmpty()) {
-            throw new IllegalArgumentException("No invoice data found in uploaded file");
+        String fileType = isCsv(file) ? "csv" : "pdf";
+        String outcome = "failed";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        uploadsInFlight.incrementAndGet();
+        try {
+            InvoiceResponseDto responseDto = storeUpload(file, userId, fileType);
+            outcome = responseDto.isDuplicate() ? "duplicate" : "stored";
+            return responseDto;
+        } finally {
+            uploadsInFlight.decrementAndGet();
+            sample.stop(meterRegistry.timer("aura.upload", "type", fileType, "outcome", outcome));
         }
+    }
 
-        InvoiceRequestDto dto = requestDtos.get(0);
-        if (userId != null) {
-            dto.setUserId(userId);
+    private InvoiceResponseDto storeUpload(MultipartFile file, Long userId, String fileType) {
+        Timer connectionHold = meterRegistry.timer("aura.upload.connection.hold", "type", fileType);
+        long holdNanos = 0;
+        try {
+            // A file this user already uploaded is answered from the stored invoice without parsing it again
+            String contentHash = timeStage("hash", fileType, () -> contentHashOf(file));
+            long userKey = userId != null ? userId : 0L;
+            long lookupStart = System.nanoTime();
+            Optional<Invoice> previous = timeStage("dedupe", fileType,
+                    () -> lookupTransaction.execute(status -> findUploaded(contentHash, userKey)));
+            holdNanos += System.nanoTime() - lookupStart;
+            if (previous.isPresent()) {
+                return toDuplicateDto(previous.get());
+            }
+
+            // Parse uploaded file to a single invoice request (PDF or CSV)
+            List<InvoiceRequestDto> requestDtos = timeStage("parse", fileType, () -> parseFileToInvoices(file));
+            if (requestDtos.isEmpty()) {
+                throw new IllegalArgumentException("No invoice data found in uploaded file");
+            }
+
+            InvoiceRequestDto dto = requestDtos.get(0);
+            if (userId != null) {
+                dto.setUserId(userId);
+            }
+            // Ensure amountWithoutGst is populated when we have GST and total
+            backfillAmounts(dto);
+
+            // Concurrent uploads of the same content may both have parsed it; the content lock lets only the
+            // first one store it and answers the others from its invoice
+            long persistStart = System.nanoTime();
+            StoredUpload stored = timeStage("save", fileType, () -> persistTransaction.execute(status -> {
+                uploadedFileRepository.lockContent(ContentHash.lockKey(contentHash));
+                Optional<Invoice> raced = findUploaded(contentHash, userKey);
+                if (raced.isPresent()) {
+                    return new StoredUpload(raced.get(), true);
+                }
+                Invoice invoice = invoiceRepository.save(toEntity(dto));
+                recordCreated(List.of(invoice));
+
+                UploadedFile uploaded = new UploadedFile();
+                uploaded.setContentHash(contentHash);
+                uploaded.setUserKey(userKey);
+                uploaded.setInvoiceId(invoice.getId());
+                uploaded.setFileName(file.getOriginalFilename());
+                uploaded.setFileSize(file.getSize());
+                uploadedFileRepository.save(uploaded);
+                return new StoredUpload(invoice, false);
+            }));
+            holdNanos += System.nanoTime() - persistStart;
+            if (stored.duplicate()) {
+                return toDuplicateDto(stored.invoice());
+            }
+
+            // Mirror to the CSV file once committed; the writer thread appends it in the background
+            timeStage("csv", fileType, () -> csvMirrorService.enqueue(dto));
+
+            InvoiceResponseDto responseDto = toResponseDto(stored.invoice());
+            responseDto.setCsvPath("/output/invoices_parsed.csv");
+            return responseDto;
+        } finally {
+            connectionHold.record(holdNanos, TimeUnit.NANOSECONDS);
         }
-        // Ensure amountWithoutGst is populated when we have GST and total
-        backfillAmounts(dto);
-        Invoice invoice = toEntity(dto);
-        Invoice saved = invoiceRepository.save(invoice);
+    }
 
-        // Write to CSV file
-        java.nio.file.Path csvPath = CsvWriterUtil.appendInvoiceToCsv(dto);
+    private Optional<Invoice> findUploaded(String contentHash, long userKey) {
+        return uploadedFileRepository.findByContentHashAndUserKey(contentHash, userKey)
+                .flatMap(uploaded -> invoiceRepository.findById(uploaded.getInvoiceId()));
+    }
 
-        InvoiceResponseDto responseDto = toResponseDto(saved);
+    private InvoiceResponseDto toDuplicateDto(Invoice invoice) {
+        InvoiceResponseDto responseDto = toResponseDto(invoice);
         responseDto.setCsvPath("/output/invoices_parsed.csv");
+        responseDto.setDuplicate(true);
         return responseDto;
     }
 
+    /**
+     * Files are parsed outside any transaction; accepted rows are saved {@code aura.import.batch-size} at a time,
+     * each chunk in its own transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<InvoiceImportResultDto> importInvoices(List<MultipartFile> files, Long userId, boolean multiInvoicePdf) {
+        List<InvoiceImportResultDto> results = new ArrayList<>();
+        for (MultipartFile file : files) {
+            results.add(importFile(file, userId, multiInvoicePdf));
+        }
+        return results;
+    }
+
+    /**
+     * Entries are read straight from the request stream and parsed on the archive pool while later entries are
+     * still being read. Parsed rows are saved in archive order, {@code aura.import.batch-size} rows per
+     * transaction, so no transaction spans the parsing.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<InvoiceImportResultDto> importArchive(MultipartFile archive, Long userId) {
+        List<InvoiceImportResultDto> results = new ArrayList<>();
+        Deque<Future<ArchiveEntry>> parsing = new ArrayDeque<>();
+        ImportChunk chunk = new ImportChunk();
+        String archiveError = null;
+
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+            int entries = 0;
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory() || isArchiveMetadata(entry.getName())) {
+                    continue;
+                }
+                if (++entries > archiveMaxEntries) {
+                    archiveError = "Archive has more than " + archiveMaxEntries + " entries; the rest were ignored";
+                    break;
+                }
+
+                InvoiceImportResultDto result = new InvoiceImportResultDto();
+                result.setFileName(entry.getName());
+                results.add(result);
+                byte[] content = zip.readNBytes(archiveMaxEntryBytes + 1);
+                if (content.length > archiveMaxEntryBytes) {
+                    result.setError("Entry is larger than " + archiveMaxEntryBytes + " bytes");
+                    continue;
+                }
+
+                MultipartFile file = new InMemoryMultipartFile(entry.getName(), null, content);
+                parsing.add(archiveExecutor.submit(() -> parseArchiveEntry(file, userId, result)));
+                while (!parsing.isEmpty() && parsing.peek().isDone()) {
+                    saveArchiveEntry(parsing.poll(), chunk);
+                }
+            }
+        } catch (IOException e) {
+            archiveError = "Failed to read archive: " + e.getMessage();
+        }
+
+        while (!parsing.isEmpty()) {
+            saveArchiveEntry(parsing.poll(), chunk);
+        }
+        chunk.flush();
+
+        if (archiveError != null) {
+            InvoiceImportResultDto result = new InvoiceImportResultDto();
+            result.setFileName(archive.getOriginalFilename());
+            result.setError(archiveError);
+            results.add(result);
+        }
+        return results;
+    }
+
     @Override
     public InvoiceResponseDto createManualInvoice(InvoiceRequestDto requestDto) {
         // In case client omits total or amountWithoutGst, normalize on server
         backfillAmounts(requestDto);
         Invoice invoice = toEntity(requestDto);
         Invoice saved = invoiceRepository.save(invoice);
+        recordCreated(List.of(saved));
         return toResponseDto(saved);
     }
 
+    /**
+     * Elements are bound and validated as they are read, and accepted ones are saved {@code aura.import.batch-size}
+     * at a time, each chunk in its own transaction. An element that cannot be bound or lacks its date or total is
+     * reported and skipped; malformed JSON ends the batch, and the elements after it are not read.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ManualInvoiceResultDto> createManualInvoices(InputStream body) {
+        List<ManualInvoiceResultDto> results = new ArrayList<>();
+        List<Invoice> chunk = new ArrayList<>(importBatchSize);
+        List<ManualInvoiceResultDto> chunkResults = new ArrayList<>(importBatchSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            // A top-level array is read element by element; anything else is a sequence of root-level objects
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode element = parser.readValueAsTree();
+                ManualInvoiceResultDto result = new ManualInvoiceResultDto();
+                result.setIndex(results.size());
+                results.add(result);
+
+                Invoice invoice = null;
+                try {
+                    InvoiceRequestDto dto = objectMapper.treeToValue(element, InvoiceRequestDto.class);
+                    backfillAmounts(dto);
+                    if (dto != null && dto.getInvoiceDate() != null && dto.getTotalAmount() != null) {
+                        invoice = toEntity(dto);
+                    } else {
+                        result.setError("invoiceDate and totalAmount are required");
+                    }
+                } catch (JsonProcessingException e) {
+                    result.setError("Invalid invoice: " + e.getOriginalMessage());
+                }
+                if (invoice != null) {
+                    chunk.add(invoice);
+                    chunkResults.add(result);
+                    if (chunk.size() >= importBatchSize) {
+                        saveManualChunk(chunk, chunkResults);
+                    }
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // Includes a body that ends inside the array; keep what was saved and report where reading stopped
+            results.add(stoppedAt(results.size(), "Malformed JSON, batch stopped here: " + e.getOriginalMessage()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read invoice batch", e);
+        } finally {
+            saveManualChunk(chunk, chunkResults);
+        }
+        return results;
+    }
+
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(InvoiceCacheService.ALL_INVOICES)
     public List<InvoiceResponseDto> getAllInvoices() {
         return invoiceRepository.findAll().stream()
                 .map(this::toResponseDto)
@@ -81,184 +420,315 @@ public class InvoiceServiceImpl implements InvoiceService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(InvoiceCacheService.REVENUE_SUMMARY)
     public Map<String, Object> getRevenueSummary() {
-        List<Invoice> invoices = invoiceRepository.findAll();
-        BigDecimal totalRevenue = invoices.stream()
-                .map(Invoice::getTotalAmount)
-                .filter(a -> a != null)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalGst = invoices.stream()
-                .map(Invoice::getGstAmount)
-                .filter(a -> a != null)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Map<Integer, BigDecimal> monthlyRevenue = new HashMap<>();
-        Map<Integer, BigDecimal> yearlyRevenue = new HashMap<>();
-
-        for (Invoice invoice : invoices) {
-            if (invoice.getInvoiceDate() == null || invoice.getTotalAmount() == null) {
-                continue;
-            }
-            int month = invoice.getInvoiceDate().getMonthValue();
-            int year = invoice.getInvoiceDate().getYear();
-
-            monthlyRevenue.merge(month, invoice.getTotalAmount(), BigDecimal::add);
-            yearlyRevenue.merge(year, invoice.getTotalAmount(), BigDecimal::add);
+        if (columnarReady()) {
+            return columnarAnalytics.getRevenueSummary();
         }
+        return revenueRollupService.getRevenueSummary();
+    }
 
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalRevenue", totalRevenue);
-        summary.put("totalGst", totalGst);
-        summary.put("monthlyRevenue", monthlyRevenue);
-        summary.put("yearlyRevenue", yearlyRevenue);
-        return summary;
+    @Override
+    @CacheEvict(value = InvoiceCacheService.REVENUE_SUMMARY, allEntries = true)
+    public int rebuildRevenueRollups() {
+        return revenueRollupService.rebuild();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<InvoiceResponseDto> getRevenueByDate(LocalDate start, LocalDate end) {
-        return invoiceRepository.findByInvoiceDateBetween(start, end).stream()
+        return invoiceRepository.findByInvoiceDateBetweenOrderByInvoiceDateAscIdAsc(start, end).stream()
                 .map(this::toResponseDto)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
+    public List<RevenueBucketDto> getRevenueAnalytics(RevenueGranularity granularity, Long userId, String metalType,
+                                                      LocalDate start, LocalDate end) {
+        if (columnarReady()) {
+            return columnarAnalytics.aggregateRevenue(granularity, userId, metalType, start, end);
+        }
+        return invoiceRepository.aggregateRevenue(granularity.sqlField(), userId, metalType, start, end).stream()
+                .map(this::toBucketDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = InvoiceCacheService.INVOICES_BY_USER, key = "#userId")
     public List<InvoiceResponseDto> getInvoicesForUser(Long userId) {
-        List<Invoice> invoices = invoiceRepository.findByUserId(userId);
-
-        invoices.sort((a, b) -> {
-            LocalDate da = a.getInvoiceDate();
-            LocalDate db = b.getInvoiceDate();
-            if (da == null && db == null) return 0;
-            if (da == null) return 1; // nulls last
-            if (db == null) return -1;
-            return da.compareTo(db);
-        });
-
-        return invoices.stream()
+        // Ordered in SQL: ascending order puts undated invoices last
+        return invoiceRepository.findByUserIdOrderByInvoiceDateAscIdAsc(userId).stream()
                 .map(this::toResponseDto)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public void deleteInvoice(Long id) {
-        invoiceRepository.deleteById(id);
+    @Transactional(readOnly = true)
+    public InvoicePageDto getInvoicePage(String cursor, int size) {
+        return keysetPage(cursor, size,
+                (after, limit) -> invoiceRepository.findDatedPageAfter(after.getInvoiceDate(), after.getId(), limit),
+                (afterId, limit) -> invoiceRepository.findUndatedPageAfter(afterId, limit));
     }
 
-    private List<InvoiceRequestDto> parseFileToInvoices(MultipartFile file) {
-        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
-        String contentType = file.getContentType() != null ? file.getContentType().toLowerCase() : "";
+    @Override
+    @Transactional(readOnly = true)
+    public InvoicePageDto getInvoicePageForUser(Long userId, String cursor, int size) {
+        return keysetPage(cursor, size,
+                (after, limit) -> invoiceRepository.findDatedPageForUserAfter(userId, after.getInvoiceDate(), after.getId(), limit),
+                (afterId, limit) -> invoiceRepository.findUndatedPageForUserAfter(userId, afterId, limit));
+    }
 
-        // Treat as CSV if content type or extension suggests so
-        if (contentType.contains("csv") || filename.endsWith(".csv")) {
-            return parseCsv(file);
+    @Override
+    @Transactional(readOnly = true)
+    public InvoicePageDto getRevenuePageByDate(LocalDate start, LocalDate end, String cursor, int size) {
+        return keysetPage(cursor, size,
+                (after, limit) -> invoiceRepository.findDatedPageBetweenAfter(start, end, after.getInvoiceDate(), after.getId(), limit),
+                null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamInvoices(Long userId, LocalDate start, LocalDate end, Consumer<InvoiceResponseDto> sink) {
+        Stream<Invoice> invoices;
+        if (start != null && end != null) {
+            invoices = invoiceRepository.streamByInvoiceDateBetweenOrderByInvoiceDateAscIdAsc(start, end);
+        } else if (userId != null) {
+            invoices = invoiceRepository.streamByUserIdOrderByInvoiceDateAscIdAsc(userId);
+        } else {
+            invoices = invoiceRepository.streamAllByOrderByInvoiceDateAscIdAsc();
         }
 
-        // Default: parse as PDF (existing behavior)
-        InvoiceRequestDto parsed = pdfParserService.parseInvoice(file);
-        List<InvoiceRequestDto> list = new ArrayList<>();
-        list.add(parsed);
-        return list;
+        try (invoices) {
+            invoices.forEach(invoice -> {
+                sink.accept(toResponseDto(invoice));
+                // Keep the persistence context from growing with the result set
+                entityManager.detach(invoice);
+            });
+        }
     }
 
-    private List<InvoiceRequestDto> parseCsv(MultipartFile file) {
-        List<InvoiceRequestDto> result = new ArrayList<>();
-        DateTimeFormatter[] formatters = new DateTimeFormatter[]{
-                DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-                DateTimeFormatter.ISO_LOCAL_DATE
-        };
+    @Override
+    public void deleteInvoice(Long id) {
+        deleteInvoices(List.of(id), null, null, null);
+    }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            boolean first = true;
-            while ((line = reader.readLine()) != null) {
-                if (first) {
-                    // Skip header row
-                    first = false;
-                    continue;
-                }
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
+    @Override
+    public int deleteInvoices(List<Long> ids, Long userId, LocalDate start, LocalDate end) {
+        List<Invoice> deleted = softDelete
+                ? invoiceBatchRepository.softDeleteMatching(ids, userId, start, end, LocalDateTime.now())
+                : invoiceBatchRepository.deleteMatching(ids, userId, start, end);
+        if (!deleted.isEmpty()) {
+            revenueRollupService.recordDeleted(deleted);
+            eventPublisher.publishEvent(InvoicesChangedEvent.deleted(deleted));
+        }
+        return deleted.size();
+    }
 
-                String[] parts = line.split(",");
-                if (parts.length < 5) {
-                    // Expect at least: invoiceDate, metalType, amountWithoutGst, gstAmount, totalAmount
-                    continue;
-                }
+    /**
+     * Import every row of a single file, flushing accepted rows in chunks of {@code importBatchSize}.
+     * Rows are rejected when they are malformed or lack an invoice date or total amount.
+     */
+    private InvoiceImportResultDto importFile(MultipartFile file, Long userId, boolean multiInvoicePdf) {
+        InvoiceImportResultDto result = new InvoiceImportResultDto();
+        result.setFileName(file.getOriginalFilename());
+
+        List<Invoice> chunk = new ArrayList<>(importBatchSize);
+        int[] rejected = new int[1];
+        Consumer<InvoiceRequestDto> rowHandler = dto -> {
+            Invoice invoice = toImportEntity(dto, userId);
+            if (invoice == null) {
+                rejected[0]++;
+                return;
+            }
+            chunk.add(invoice);
+            if (chunk.size() >= importBatchSize) {
+                result.setRowsAccepted(result.getRowsAccepted() + insertChunkTransaction(chunk));
+                chunk.clear();
+            }
+        };
 
-                InvoiceRequestDto dto = new InvoiceRequestDto();
+        try {
+            if (isCsv(file)) {
+                rejected[0] += readCsvRows(file, rowHandler);
+            } else if (multiInvoicePdf) {
+                pdfParserService.parseInvoices(file).forEach(rowHandler);
+            } else {
+                rowHandler.accept(pdfParserService.parseInvoice(file));
+            }
+            result.setRowsAccepted(result.getRowsAccepted() + insertChunkTransaction(chunk));
+        } catch (RuntimeException e) {
+            result.setError(e.getMessage());
+        }
+        result.setRowsRejected(rejected[0]);
+        return result;
+    }
 
-                // Optional userId column at index 0; if present shift others right
-                int idx = 0;
-                Long userId = null;
-                try {
-                    userId = Long.parseLong(parts[0].trim());
-                    idx = 1;
-                } catch (NumberFormatException ignored) {
-                    // No user id column, treat first column as date
-                    idx = 0;
-                }
+    /**
+     * Analytics are served from the columnar store when {@code aura.analytics.columnar.enabled} is set and its
+     * initial load has finished.
+     */
+    private boolean columnarReady() {
+        return columnarAnalytics != null && columnarAnalytics.isReady();
+    }
 
-                if (userId != null) {
-                    dto.setUserId(userId);
-                }
+    private <T> T timeStage(String stage, String fileType, Supplier<T> action) {
+        return meterRegistry.timer("aura.upload.stage", "stage", stage, "type", fileType).record(action);
+    }
 
-                // Date
-                if (idx < parts.length) {
-                    String dateStr = parts[idx++].trim();
-                    dto.setInvoiceDate(parseDateFlexible(dateStr, formatters));
-                }
+    private String contentHashOf(MultipartFile file) {
+        if (file instanceof SpooledMultipartFile spooled) {
+            return spooled.getContentHash();
+        }
+        try (InputStream in = file.getInputStream()) {
+            return ContentHash.sha256(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read uploaded file", e);
+        }
+    }
 
-                // Metal type
-                if (idx < parts.length) {
-                    dto.setMetalType(parts[idx++].trim());
-                }
+    /**
+     * Normalize an imported row, or return {@code null} when it lacks the date or total it needs to be stored.
+     */
+    private Invoice toImportEntity(InvoiceRequestDto dto, Long userId) {
+        if (userId != null) {
+            dto.setUserId(userId);
+        }
+        backfillAmounts(dto);
+        if (dto.getInvoiceDate() == null || dto.getTotalAmount() == null) {
+            return null;
+        }
+        return toEntity(dto);
+    }
 
-                // Amounts
-                if (idx < parts.length) {
-                    dto.setAmountWithoutGst(parseBigDecimalSafe(parts[idx++]));
-                }
-                if (idx < parts.length) {
-                    dto.setGstAmount(parseBigDecimalSafe(parts[idx++]));
-                }
-                if (idx < parts.length) {
-                    dto.setTotalAmount(parseBigDecimalSafe(parts[idx]));
-                }
+    private boolean isArchiveMetadata(String entryName) {
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        return entryName.startsWith("__MACOSX/") || fileName.startsWith(".");
+    }
 
-                result.add(dto);
+    private ArchiveEntry parseArchiveEntry(MultipartFile file, Long userId, InvoiceImportResultDto result) {
+        List<Invoice> invoices = new ArrayList<>();
+        int[] rejected = new int[1];
+        Consumer<InvoiceRequestDto> rowHandler = dto -> {
+            Invoice invoice = toImportEntity(dto, userId);
+            if (invoice != null) {
+                invoices.add(invoice);
+            } else {
+                rejected[0]++;
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to parse CSV invoice file", e);
+        };
+        try {
+            if (isCsv(file)) {
+                rejected[0] += readCsvRows(file, rowHandler);
+            } else {
+                parseFileToInvoices(file).forEach(rowHandler);
+            }
+        } catch (RuntimeException e) {
+            result.setError(e.getMessage());
+            invoices.clear();
         }
+        result.setRowsRejected(rejected[0]);
+        return new ArchiveEntry(result, invoices);
+    }
 
+    private void saveArchiveEntry(Future<ArchiveEntry> parsed, ImportChunk chunk) {
+        ArchiveEntry entry;
+        try {
+            entry = parsed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while importing archive", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to parse archive entry", e.getCause());
+        }
+        for (Invoice invoice : entry.invoices()) {
+            chunk.add(invoice, entry.result());
+        }
+    }
+
+    private static ManualInvoiceResultDto stoppedAt(int index, String error) {
+        ManualInvoiceResultDto result = new ManualInvoiceResultDto();
+        result.setIndex(index);
+        result.setError(error);
         return result;
     }
 
-    private LocalDate parseDateFlexible(String value, DateTimeFormatter[] formatters) {
-        for (DateTimeFormatter formatter : formatters) {
-            try {
-                return LocalDate.parse(value, formatter);
-            } catch (DateTimeParseException ignored) {
+    private void saveManualChunk(List<Invoice> chunk, List<ManualInvoiceResultDto> chunkResults) {
+        try {
+            insertChunkTransaction(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                chunkResults.get(i).setId(chunk.get(i).getId());
             }
+        } catch (RuntimeException e) {
+            chunkResults.forEach(result -> result.setError("Failed to save: " + e.getMessage()));
         }
-        return null;
+        chunk.clear();
+        chunkResults.clear();
     }
 
-    private BigDecimal parseBigDecimalSafe(String value) {
-        if (value == null) {
-            return null;
+    private int insertChunkTransaction(List<Invoice> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
         }
-        String cleaned = value.trim().replaceAll(",", "");
-        if (cleaned.isEmpty()) {
-            return null;
+        Integer inserted = chunkTransaction.execute(status -> insertChunk(chunk));
+        return inserted != null ? inserted : 0;
+    }
+
+    private int insertChunk(List<Invoice> chunk) {
+        int inserted = invoiceBatchRepository.insertBatch(chunk);
+        recordCreated(chunk);
+        return inserted;
+    }
+
+    /**
+     * Bookkeeping shared by every create path: rollups and sketches in this transaction, listeners after commit.
+     */
+    private void recordCreated(List<Invoice> invoices) {
+        if (invoices.isEmpty()) {
+            return;
         }
-        try {
-            return new BigDecimal(cleaned);
-        } catch (NumberFormatException e) {
-            return null;
+        revenueRollupService.recordCreated(invoices);
+        invoiceSketchService.recordCreated(invoices);
+        eventPublisher.publishEvent(InvoicesChangedEvent.created(invoices));
+    }
+
+    private boolean isCsv(MultipartFile file) {
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        String contentType = file.getContentType() != null ? file.getContentType().toLowerCase() : "";
+
+        // Treat as CSV if content type or extension suggests so
+        return contentType.contains("csv") || filename.endsWith(".csv");
+    }
+
+    private List<InvoiceRequestDto> parseFileToInvoices(MultipartFile file) {
+        if (isCsv(file)) {
+            return parseCsv(file);
+        }
+
+        // Default: parse as PDF (existing behavior)
+        InvoiceRequestDto parsed = pdfParserService.parseInvoice(file);
+        List<InvoiceRequestDto> list = new ArrayList<>();
+        list.add(parsed);
+        return list;
+    }
+
+    private List<InvoiceRequestDto> parseCsv(MultipartFile file) {
+        List<InvoiceRequestDto> result = new ArrayList<>();
+        readCsvRows(file, result::add);
+        return result;
+    }
+
+    /**
+     * Stream CSV rows to {@code rowHandler} one at a time.
+     *
+     * @return number of malformed rows that were skipped
+     */
+    private int readCsvRows(MultipartFile file, Consumer<InvoiceRequestDto> rowHandler) {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return new CsvInvoiceReader(reader).read(rowHandler);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse CSV invoice file", e);
         }
     }
 
@@ -287,6 +757,67 @@ public class InvoiceServiceImpl implements InvoiceService {
         return dto;
     }
 
+    /**
+     * Fetch one keyset page: dated rows after the cursor first, then (if {@code undatedAfter} is given)
+     * undated rows by id. One extra row is requested to know whether a further page exists.
+     */
+    private InvoicePageDto keysetPage(String cursorValue, int size,
+                                      BiFunction<InvoiceCursor, Integer, List<Invoice>> datedAfter,
+                                      BiFunction<Long, Integer, List<Invoice>> undatedAfter) {
+        InvoiceCursor cursor;
+        try {
+            cursor = InvoiceCursor.parse(cursorValue);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        int limit = Math.min(Math.max(size, 1), maxPageSize);
+
+        List<Invoice> items = new ArrayList<>(limit);
+        InvoiceCursor next = null;
+        long undatedAfterId = cursor.isUndated() ? cursor.getId() : 0L;
+
+        if (!cursor.isUndated()) {
+            List<Invoice> dated = datedAfter.apply(cursor, limit + 1);
+            if (dated.size() > limit) {
+                items.addAll(dated.subList(0, limit));
+                Invoice last = items.get(limit - 1);
+                return toPageDto(items, InvoiceCursor.after(last.getInvoiceDate(), last.getId()));
+            }
+            items.addAll(dated);
+        }
+
+        if (undatedAfter != null) {
+            int remaining = limit - items.size();
+            List<Invoice> undated = undatedAfter.apply(undatedAfterId, remaining + 1);
+            if (undated.size() > remaining) {
+                items.addAll(undated.subList(0, remaining));
+                long lastId = items.isEmpty() || items.get(items.size() - 1).getInvoiceDate() != null
+                        ? undatedAfterId : items.get(items.size() - 1).getId();
+                next = InvoiceCursor.after(null, lastId);
+            } else {
+                items.addAll(undated);
+            }
+        }
+        return toPageDto(items, next);
+    }
+
+    private InvoicePageDto toPageDto(List<Invoice> invoices, InvoiceCursor next) {
+        InvoicePageDto page = new InvoicePageDto();
+        page.setItems(invoices.stream().map(this::toResponseDto).collect(Collectors.toList()));
+        page.setNextCursor(next != null ? next.toString() : null);
+        return page;
+    }
+
+    private RevenueBucketDto toBucketDto(InvoiceRepository.RevenueBucketView view) {
+        RevenueBucketDto dto = new RevenueBucketDto();
+        dto.setBucketStart(LocalDate.parse(view.getBucketStart()));
+        dto.setInvoiceCount(view.getInvoiceCount());
+        dto.setAmountWithoutGst(view.getAmountWithoutGst());
+        dto.setGstAmount(view.getGstAmount());
+        dto.setTotalAmount(view.getTotalAmount());
+        return dto;
+    }
+
     /**
      * Backfill missing monetary fields when enough data is present.
      * If amountWithoutGst is null but total and GST are present, compute: amountWithoutGst = total - GST.
@@ -309,4 +840,42 @@ public class InvoiceServiceImpl implements InvoiceService {
             }
         }
     }
+
+    private record StoredUpload(Invoice invoice, boolean duplicate) {
+    }
+
+    private record ArchiveEntry(InvoiceImportResultDto result, List<Invoice> invoices) {
+    }
+
+    /**
+     * Rows waiting to be saved, with the entry each one came from. Every flush commits in its own
+     * transaction and credits the rows to their entries, or reports the failure on every entry involved.
+     */
+    private final class ImportChunk {
+
+        private final List<Invoice> invoices = new ArrayList<>(importBatchSize);
+        private final Map<InvoiceImportResultDto, Integer> rowsByEntry = new IdentityHashMap<>();
+
+        void add(Invoice invoice, InvoiceImportResultDto result) {
+            invoices.add(invoice);
+            rowsByEntry.merge(result, 1, Integer::sum);
+            if (invoices.size() >= importBatchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (invoices.isEmpty()) {
+                return;
+            }
+            try {
+                chunkTransaction.executeWithoutResult(status -> insertChunk(invoices));
+                rowsByEntry.forEach((result, rows) -> result.setRowsAccepted(result.getRowsAccepted() + rows));
+            } catch (RuntimeException e) {
+                rowsByEntry.keySet().forEach(result -> result.setError("Failed to save rows: " + e.getMessage()));
+            }
+            invoices.clear();
+            rowsByEntry.clear();
+        }
+    }
 }
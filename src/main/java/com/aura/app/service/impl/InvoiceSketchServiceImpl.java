@@ -0,0 +1,236 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.dto.RevenueGranularity;
+import com.aura.app.dto.SketchBucketDto;
+import com.aura.app.model.Invoice;
+import com.aura.app.model.InvoiceSketch;
+import com.aura.app.repository.InvoiceExportRepository;
+import com.aura.app.repository.InvoiceRepository;
+import com.aura.app.repository.InvoiceSketchRepository;
+import com.aura.app.service.InvoiceSketchService;
+import com.tdunning.math.stats.MergingDigest;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.Union;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code invoice_sketches} in step with invoice inserts. Like the revenue rollups, sketches are updated
+ * inside the caller's transaction; every touched bucket is locked for the read-modify-write of its blobs, in a
+ * fixed order so concurrent writers cannot deadlock.
+ * <p>
+ * Sketches cannot subtract, so deleted invoices stay counted until {@link #rebuild()} recomputes every bucket.
+ * The first start with an empty sketch table and existing invoices rebuilds it, so figures cover invoices that
+ * predate the table.
+ * {@code aura.analytics.sketch.compression} and {@code aura.analytics.sketch.hll-lg-k} trade size for accuracy.
+ */
+@Service
+@Transactional
+public class InvoiceSketchServiceImpl implements InvoiceSketchService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceSketchServiceImpl.class);
+
+    private static final Comparator<BucketKey> BUCKET_ORDER = Comparator.comparingInt(BucketKey::year)
+            .thenComparingInt(BucketKey::month)
+            .thenComparing(BucketKey::metalKey);
+
+    private final InvoiceSketchRepository sketchRepository;
+    private final InvoiceExportRepository exportRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final double compression;
+    private final int hllLgK;
+
+    public InvoiceSketchServiceImpl(InvoiceSketchRepository sketchRepository,
+                                    InvoiceExportRepository exportRepository,
+                                    InvoiceRepository invoiceRepository,
+                                    @Value("${aura.analytics.sketch.compression:100}") double compression,
+                                    @Value("${aura.analytics.sketch.hll-lg-k:12}") int hllLgK) {
+        this.sketchRepository = sketchRepository;
+        this.exportRepository = exportRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.compression = compression;
+        this.hllLgK = hllLgK;
+    }
+
+    @Override
+    public void recordCreated(Collection<Invoice> invoices) {
+        Map<BucketKey, Sketches> updates = new TreeMap<>(BUCKET_ORDER);
+        for (Invoice invoice : invoices) {
+            if (invoice.getInvoiceDate() == null) {
+                continue;
+            }
+            updates.computeIfAbsent(BucketKey.of(invoice.getInvoiceDate(), invoice.getMetalType()), key -> newSketches())
+                    .add(invoice.getUserId(), invoice.getTotalAmount());
+        }
+
+        updates.forEach((key, update) -> {
+            sketchRepository.ensureBucket(key.year(), key.month(), key.metalKey());
+            InvoiceSketch bucket = sketchRepository.findForUpdate(key.year(), key.month(), key.metalKey());
+            Sketches merged = sketchesOf(bucket);
+            merged.merge(update);
+            store(bucket, merged);
+            sketchRepository.save(bucket);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SketchBucketDto> getSketchAnalytics(RevenueGranularity granularity, String metalType, boolean byMetal,
+                                                    LocalDate start, LocalDate end) {
+        if (granularity != RevenueGranularity.MONTH && granularity != RevenueGranularity.YEAR) {
+            throw new IllegalArgumentException("Sketch analytics are kept per month; granularity must be month or year");
+        }
+        int from = start != null ? monthIndex(start) : Integer.MIN_VALUE;
+        int to = end != null ? monthIndex(end) : Integer.MAX_VALUE;
+
+        Map<BucketKey, Sketches> periods = new TreeMap<>(BUCKET_ORDER);
+        for (InvoiceSketch bucket : sketchRepository.findBuckets(from, to, metalType)) {
+            int month = granularity == RevenueGranularity.MONTH ? bucket.getBucketMonth() : 1;
+            String metalKey = byMetal ? bucket.getMetalKey() : "";
+            periods.computeIfAbsent(new BucketKey(bucket.getBucketYear(), month, metalKey), key -> newSketches())
+                    .merge(sketchesOf(bucket));
+        }
+
+        List<SketchBucketDto> result = new ArrayList<>(periods.size());
+        periods.forEach((key, sketches) -> {
+            SketchBucketDto dto = new SketchBucketDto();
+            dto.setPeriodStart(LocalDate.of(key.year(), key.month(), 1));
+            dto.setMetalType(byMetal ? key.metalKey() : null);
+            dto.setInvoiceCount(sketches.count);
+            if (sketches.values.size() > 0) {
+                dto.setMedianTotalAmount(amount(sketches.values.quantile(0.5)));
+                dto.setP95TotalAmount(amount(sketches.values.quantile(0.95)));
+            }
+            dto.setDistinctUsers(Math.round(sketches.users.getResult().getEstimate()));
+            result.add(dto);
+        });
+        return result;
+    }
+
+    /**
+     * Recompute every bucket from the invoices table, streaming it through the export cursor.
+     */
+    @Override
+    public int rebuild() {
+        sketchRepository.lockInvoices();
+        sketchRepository.deleteAllBuckets();
+
+        Map<BucketKey, Sketches> buckets = new TreeMap<>(BUCKET_ORDER);
+        exportRepository.streamInvoices(null, null, null, rs -> {
+            Date date = rs.getDate(3);
+            if (date == null) {
+                return;
+            }
+            long userId = rs.getLong(2);
+            Long user = rs.wasNull() ? null : userId;
+            buckets.computeIfAbsent(BucketKey.of(date.toLocalDate(), rs.getString(4)), key -> newSketches())
+                    .add(user, rs.getBigDecimal(7));
+        });
+
+        List<InvoiceSketch> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((key, sketches) -> {
+            InvoiceSketch bucket = new InvoiceSketch();
+            bucket.setBucketYear(key.year());
+            bucket.setBucketMonth(key.month());
+            bucket.setMetalKey(key.metalKey());
+            store(bucket, sketches);
+            rows.add(bucket);
+        });
+        sketchRepository.saveAll(rows);
+        log.info("Rebuilt invoice sketches: {} buckets", rows.size());
+        return rows.size();
+    }
+
+    /**
+     * Populate the sketches on the first start after they were introduced, when invoices already exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (sketchRepository.count() == 0 && invoiceRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    private Sketches newSketches() {
+        return new Sketches(new MergingDigest(compression), new Union(hllLgK), 0);
+    }
+
+    private Sketches sketchesOf(InvoiceSketch bucket) {
+        MergingDigest values = bucket.getValueDigest() != null
+                ? MergingDigest.fromBytes(ByteBuffer.wrap(bucket.getValueDigest()))
+                : new MergingDigest(compression);
+        Union users = new Union(hllLgK);
+        if (bucket.getUserHll() != null) {
+            users.update(HllSketch.heapify(bucket.getUserHll()));
+        }
+        return new Sketches(values, users, bucket.getInvoiceCount());
+    }
+
+    private static void store(InvoiceSketch bucket, Sketches sketches) {
+        ByteBuffer digest = ByteBuffer.allocate(sketches.values.smallByteSize());
+        sketches.values.asSmallBytes(digest);
+        bucket.setValueDigest(digest.array());
+        bucket.setUserHll(sketches.users.getResult().toCompactByteArray());
+        bucket.setInvoiceCount(sketches.count);
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record BucketKey(int year, int month, String metalKey) {
+
+        static BucketKey of(LocalDate date, String metalType) {
+            return new BucketKey(date.getYear(), date.getMonthValue(), metalType != null ? metalType : "");
+        }
+    }
+
+    private static final class Sketches {
+        private final MergingDigest values;
+        private final Union users;
+        private long count;
+
+        private Sketches(MergingDigest values, Union users, long count) {
+            this.values = values;
+            this.users = users;
+            this.count = count;
+        }
+
+        void add(Long userId, BigDecimal totalAmount) {
+            count++;
+            if (totalAmount != null) {
+                values.add(totalAmount.doubleValue());
+            }
+            if (userId != null) {
+                users.update(userId);
+            }
+        }
+
+        void merge(Sketches other) {
+            count += other.count;
+            values.add(other.values);
+            users.update(other.users.getResult());
+        }
+    }
+}
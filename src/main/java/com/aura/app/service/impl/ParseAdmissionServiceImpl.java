@@ -0,0 +1,141 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.exception.ParseOverloadedException;
+import com.aura.app.service.ParseAdmissionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for PDF parsing. A parse runs only while fewer than {@code aura.pdf.admission.max-concurrent}
+ * parses are running and its memory estimate fits into what is left of {@code aura.pdf.admission.memory-budget-bytes}.
+ * Otherwise it waits up to {@code aura.pdf.admission.max-wait-ms} in a queue of at most
+ * {@code aura.pdf.admission.queue-capacity} callers, and is rejected when the queue is full or the wait runs out.
+ * <p>
+ * An estimate larger than the whole budget is clamped to it, so an oversized document still runs, alone.
+ */
+@Service
+public class ParseAdmissionServiceImpl implements ParseAdmissionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParseAdmissionServiceImpl.class);
+
+    private final int maxConcurrent;
+    private final long memoryBudgetBytes;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private int running;
+    private int waiting;
+    private long reservedBytes;
+
+    private final Timer waitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public ParseAdmissionServiceImpl(MeterRegistry meterRegistry,
+                                     @Value("${aura.pdf.admission.max-concurrent:0}") int maxConcurrent,
+                                     @Value("${aura.pdf.admission.memory-budget-bytes:0}") long memoryBudgetBytes,
+                                     @Value("${aura.pdf.admission.queue-capacity:16}") int queueCapacity,
+                                     @Value("${aura.pdf.admission.max-wait-ms:2000}") long maxWaitMs,
+                                     @Value("${aura.pdf.admission.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.memoryBudgetBytes = memoryBudgetBytes > 0 ? memoryBudgetBytes : Runtime.getRuntime().maxMemory() / 2;
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.waitTimer = meterRegistry.timer("aura.pdf.admission.wait");
+        this.rejectedQueueFull = meterRegistry.counter("aura.pdf.admission.rejected", "reason", "queue_full");
+        this.rejectedTimeout = meterRegistry.counter("aura.pdf.admission.rejected", "reason", "timeout");
+        meterRegistry.gauge("aura.pdf.admission.running", this, admission -> admission.snapshot(0));
+        meterRegistry.gauge("aura.pdf.admission.queued", this, admission -> admission.snapshot(1));
+        meterRegistry.gauge("aura.pdf.admission.reserved.bytes", this, admission -> admission.snapshot(2));
+    }
+
+    @Override
+    public <T> T admit(long estimatedBytes, Supplier<T> work) {
+        long bytes = Math.min(Math.max(estimatedBytes, 0), memoryBudgetBytes);
+        acquire(bytes);
+        try {
+            return work.get();
+        } finally {
+            release(bytes);
+        }
+    }
+
+    private void acquire(long bytes) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (!fits(bytes)) {
+                if (waiting >= queueCapacity) {
+                    rejectedQueueFull.increment();
+                    log.warn("Rejected PDF parse: {} running, {} queued", running, waiting);
+                    throw new ParseOverloadedException("PDF parsing is at capacity, retry later", retryAfterSeconds);
+                }
+                waiting++;
+                try {
+                    long remaining = maxWaitNanos;
+                    while (!fits(bytes)) {
+                        if (remaining <= 0) {
+                            rejectedTimeout.increment();
+                            throw new ParseOverloadedException("Timed out waiting for a PDF parse slot, retry later",
+                                    retryAfterSeconds);
+                        }
+                        remaining = released.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ParseOverloadedException("Interrupted while waiting for a PDF parse slot", retryAfterSeconds);
+                } finally {
+                    waiting--;
+                }
+            }
+            running++;
+            reservedBytes += bytes;
+        } finally {
+            lock.unlock();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void release(long bytes) {
+        lock.lock();
+        try {
+            running--;
+            reservedBytes -= bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean fits(long bytes) {
+        return running < maxConcurrent && reservedBytes + bytes <= memoryBudgetBytes;
+    }
+
+    private double snapshot(int metric) {
+        lock.lock();
+        try {
+            return switch (metric) {
+                case 0 -> running;
+                case 1 -> waiting;
+                default -> reservedBytes;
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,161 +1,351 @@
 package com.aura.app.service.impl;
 
 import com.aura.app.dto.InvoiceRequestDto;
+import com.aura.app.parser.InvoiceExtractionSession;
+import com.aura.app.parser.InvoiceField;
+import com.aura.app.parser.InvoiceFieldExtractor;
+import com.aura.app.service.ParseAdmissionService;
 import com.aura.app.service.PdfParserService;
+import com.aura.app.utils.SpooledMultipartFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Multi-invoice documents are stripped in parallel on a dedicated fork-join pool: the page range is split
+ * until a task covers at most {@code aura.pdf.pages-per-task} pages, and every task opens its own
+ * {@link PDDocument} because PDFBox documents are not thread-safe.
+ * <p>
+ * Stage latencies are published as {@code aura.pdf.stage} (load, text, fields), the number of pages stripped
+ * per document as {@code aura.pdf.pages} and fields that could not be extracted as {@code aura.pdf.fields.missing}.
+ * <p>
+ * Every parse goes through {@link ParseAdmissionService} first, reserving the heap its documents may hold:
+ * the in-memory budget of each concurrently loaded {@link PDDocument} plus the size of the file itself.
+ */
 @Service
 public class PdfParserServiceImpl implements PdfParserService {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy", Locale.ENGLISH);
+    private static final Logger log = LoggerFactory.getLogger(PdfParserServiceImpl.class);
+
+    private final InvoiceFieldExtractor fieldExtractor;
+    private final ParseAdmissionService admissionService;
+    private final long maxMainMemoryBytes;
+    private final File tempDir;
+    private final int maxPages;
+    private final int pagesPerTask;
+    private final int parallelism;
+    private final ForkJoinPool parsePool;
+    private final Timer loadTimer;
+    private final Timer textTimer;
+    private final Timer fieldsTimer;
+    private final DistributionSummary pagesStripped;
+    private final Counter missingDate;
+    private final Counter missingMetalType;
+    private final Counter missingAmountWithoutGst;
+    private final Counter missingGstAmount;
+    private final Counter missingTotalAmount;
+
+    public PdfParserServiceImpl(InvoiceFieldExtractor fieldExtractor,
+                                ParseAdmissionService admissionService,
+                                MeterRegistry meterRegistry,
+                                @Value("${aura.pdf.max-main-memory-bytes:16777216}") long maxMainMemoryBytes,
+                                @Value("${aura.pdf.temp-dir:}") String tempDir,
+                                @Value("${aura.pdf.max-pages:0}") int maxPages,
+                                @Value("${aura.pdf.parallelism:0}") int parallelism,
+                                @Value("${aura.pdf.pages-per-task:16}") int pagesPerTask) {
+        this.fieldExtractor = fieldExtractor;
+        this.admissionService = admissionService;
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.tempDir = StringUtils.hasText(tempDir) ? new File(tempDir) : null;
+        this.maxPages = maxPages;
+        this.pagesPerTask = Math.max(1, pagesPerTask);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.parsePool = new ForkJoinPool(this.parallelism,
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("pdf-parse-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                }, null, false);
+        this.loadTimer = meterRegistry.timer("aura.pdf.stage", "stage", "load");
+        this.textTimer = meterRegistry.timer("aura.pdf.stage", "stage", "text");
+        this.fieldsTimer = meterRegistry.timer("aura.pdf.stage", "stage", "fields");
+        this.pagesStripped = meterRegistry.summary("aura.pdf.pages");
+        this.missingDate = missingFieldCounter(meterRegistry, InvoiceField.INVOICE_DATE);
+        this.missingMetalType = missingFieldCounter(meterRegistry, InvoiceField.METAL_TYPE);
+        this.missingAmountWithoutGst = missingFieldCounter(meterRegistry, InvoiceField.AMOUNT_WITHOUT_GST);
+        this.missingGstAmount = missingFieldCounter(meterRegistry, InvoiceField.GST_AMOUNT);
+        this.missingTotalAmount = missingFieldCounter(meterRegistry, InvoiceField.TOTAL_AMOUNT);
+    }
 
     @Override
     public InvoiceRequestDto parseInvoice(MultipartFile file) {
-        try (InputStream is = file.getInputStream(); PDDocument document = PDDocument.load(is)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
-            // Temporary debug logging so we can see what the PDF actually contains
-            System.out.println("=== RAW PDF TEXT START ===");
-            System.out.println(text);
-            System.out.println("=== RAW PDF TEXT END ===");
-            return parseText(text);
+        return admissionService.admit(maxMainMemoryBytes + file.getSize(), () -> parseAdmitted(file));
+    }
+
+    @Override
+    public List<InvoiceRequestDto> parseInvoices(MultipartFile file) {
+        // Up to one document per page task is open at once, each with its own in-memory budget
+        return admissionService.admit(parallelism * maxMainMemoryBytes + file.getSize(),
+                () -> parseAdmittedPages(file));
+    }
+
+    private InvoiceRequestDto parseAdmitted(MultipartFile file) {
+        long loadStart = System.nanoTime();
+        try (PDDocument document = load(file)) {
+            loadTimer.record(System.nanoTime() - loadStart, TimeUnit.NANOSECONDS);
+            InvoiceRequestDto dto = extractPages(document, file.getOriginalFilename());
+            recordMissingFields(dto);
+            return dto;
         } catch (IOException e) {
             throw new RuntimeException("Failed to parse PDF", e);
         }
     }
 
-    private InvoiceRequestDto parseText(String text) {
-        InvoiceRequestDto dto = new InvoiceRequestDto();
+    private List<InvoiceRequestDto> parseAdmittedPages(MultipartFile file) {
+        // Every worker reopens the document, so it has to be on disk
+        SpooledMultipartFile owned = file instanceof SpooledMultipartFile ? null : SpooledMultipartFile.spool(file);
+        Path path = owned != null ? owned.getPath() : ((SpooledMultipartFile) file).getPath();
+        try {
+            long start = System.nanoTime();
+            int pageCount;
+            try (PDDocument document = load(path)) {
+                pageCount = document.getNumberOfPages();
+            }
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (pageCount == 0) {
+                return List.of();
+            }
 
-        dto.setInvoiceDate(extractDate(text));
-        dto.setMetalType(extractMetalType(text));
-        dto.setAmountWithoutGst(extractLineAmount(text));
-        dto.setGstAmount(extractGstAmount(text));
-        dto.setTotalAmount(extractTotalInvoiceValue(text));
+            long textStart = System.nanoTime();
+            List<PageText> pages = parsePool.invoke(new PageRangeTask(path, 1, pageCount));
+            textTimer.record(System.nanoTime() - textStart, TimeUnit.NANOSECONDS);
+            pagesStripped.record(pageCount);
 
-        // If parsing failed for some fields, log it so we can refine the patterns
-        if (dto.getInvoiceDate() == null
-                || dto.getMetalType() == null
-                || dto.getAmountWithoutGst() == null
-                || dto.getGstAmount() == null
-                || dto.getTotalAmount() == null) {
-            System.out.println("[PdfParser] Parsed invoice with missing fields: date=" + dto.getInvoiceDate()
-                    + ", metalType=" + dto.getMetalType()
-                    + ", amountWithoutGst=" + dto.getAmountWithoutGst()
-                    + ", gstAmount=" + dto.getGstAmount()
-                    + ", totalAmount=" + dto.getTotalAmount());
+            long fieldsStart = System.nanoTime();
+            List<Callable<InvoiceRequestDto>> extractions = new ArrayList<>();
+            for (List<String> invoicePages : splitInvoices(pages)) {
+                extractions.add(() -> fieldExtractor.extractPages(invoicePages));
+            }
+            List<InvoiceRequestDto> invoices = new ArrayList<>(extractions.size());
+            for (Future<InvoiceRequestDto> extraction : parsePool.invokeAll(extractions)) {
+                InvoiceRequestDto dto = extraction.get();
+                recordMissingFields(dto);
+                invoices.add(dto);
+            }
+            fieldsTimer.record(System.nanoTime() - fieldsStart, TimeUnit.NANOSECONDS);
+
+            log.debug("Split {} into {} invoice(s) over {} page(s)", file.getOriginalFilename(), invoices.size(), pageCount);
+            return invoices;
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to parse PDF", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to parse PDF", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while parsing PDF", e);
+        } finally {
+            if (owned != null) {
+                owned.close();
+            }
         }
+    }
 
-        return dto;
+    @PreDestroy
+    public void shutdown() {
+        parsePool.shutdown();
     }
 
-    private LocalDate extractDate(String text) {
-        // Try specific label first: "Date: 2025-10-28" or "Date 2025-10-28"
-        Pattern labeled = Pattern.compile("(?i)Date\\s*[:]?\\s*(\\d{4}-\\d{2}-\\d{2}|\\d{2}/\\d{2}/\\d{4})");
-        Matcher matcher = labeled.matcher(text);
-        if (matcher.find()) {
-            String value = matcher.group(1).trim();
-            try {
-                if (value.contains("-")) {
-                    return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
-                }
-                return LocalDate.parse(value, DATE_FORMATTER);
-            } catch (DateTimeParseException ignored) {
+    /**
+     * Load with a bounded heap budget: PDFBox keeps up to {@code maxMainMemoryBytes} of scratch data in memory
+     * and spills the rest to temp files. Spooled uploads are opened from disk instead of being copied.
+     */
+    private PDDocument load(MultipartFile file) throws IOException {
+        if (file instanceof SpooledMultipartFile spooled) {
+            return load(spooled.getPath());
+        }
+        try (InputStream is = file.getInputStream()) {
+            return PDDocument.load(is, memoryUsage());
+        }
+    }
+
+    private PDDocument load(Path path) throws IOException {
+        return PDDocument.load(path.toFile(), memoryUsage());
+    }
+
+    private MemoryUsageSetting memoryUsage() {
+        return MemoryUsageSetting.setupMixed(maxMainMemoryBytes).setTempDir(tempDir);
+    }
+
+    /**
+     * Group pages into invoices: a new invoice starts at every page that looks like an invoice's first page.
+     * When no page after the first does, the document is taken as one invoice per page.
+     */
+    private List<List<String>> splitInvoices(List<PageText> pages) {
+        boolean anyBoundary = false;
+        for (int i = 1; i < pages.size(); i++) {
+            anyBoundary |= pages.get(i).startsInvoice();
+        }
+
+        List<List<String>> invoices = new ArrayList<>();
+        List<String> current = null;
+        for (PageText page : pages) {
+            if (current == null || !anyBoundary || page.startsInvoice()) {
+                current = new ArrayList<>();
+                invoices.add(current);
             }
+            current.add(page.text());
+        }
+        return invoices;
+    }
+
+    /**
+     * Strip text one page at a time and stop as soon as every field has its best match,
+     * so the pages after the invoice header are never rendered to text.
+     */
+    private InvoiceRequestDto extractPages(PDDocument document, String filename) throws IOException {
+        int lastPage = document.getNumberOfPages();
+        if (maxPages > 0) {
+            lastPage = Math.min(lastPage, maxPages);
         }
 
-        // Fallback to any dd/MM/yyyy in the text
-        Pattern any = Pattern.compile("(\\d{2}/\\d{2}/\\d{4})");
-        Matcher anyMatcher = any.matcher(text);
-        if (anyMatcher.find()) {
-            String dateStr = anyMatcher.group(1);
-            try {
-                return LocalDate.parse(dateStr, DATE_FORMATTER);
-            } catch (DateTimeParseException ignored) {
+        // Stripping and extraction alternate per page, so both stages are summed over the pages
+        long textNanos = 0;
+        long fieldsNanos = 0;
+        int pages = 0;
+        PDFTextStripper stripper = new PDFTextStripper();
+        InvoiceExtractionSession session = fieldExtractor.newSession();
+        for (int page = 1; page <= lastPage; page++) {
+            long start = System.nanoTime();
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            String text = stripper.getText(document);
+            long stripped = System.nanoTime();
+            textNanos += stripped - start;
+            pages++;
+            if (log.isTraceEnabled()) {
+                log.trace("Raw PDF text for {} page {}:\n{}", filename, page, text);
+            }
+            text.lines().forEach(session::accept);
+            session.endPage();
+            boolean complete = session.isComplete();
+            fieldsNanos += System.nanoTime() - stripped;
+            if (complete) {
+                log.debug("All invoice fields found in {} after page {} of {}", filename, page, lastPage);
+                break;
             }
         }
-        return null;
+        long finishStart = System.nanoTime();
+        InvoiceRequestDto dto = session.finish();
+        fieldsNanos += System.nanoTime() - finishStart;
+
+        textTimer.record(textNanos, TimeUnit.NANOSECONDS);
+        fieldsTimer.record(fieldsNanos, TimeUnit.NANOSECONDS);
+        pagesStripped.record(pages);
+        return dto;
     }
 
-    private String extractMetalType(String text) {
-        // Prefer explicit Product label: "Product: SILVER24"
-        Pattern productLabel = Pattern.compile("(?i)Product\\s*:?\\s*([A-Z0-9]+)");
-        Matcher productMatcher = productLabel.matcher(text);
-        if (productMatcher.find()) {
-            return productMatcher.group(1).trim();
+    private void recordMissingFields(InvoiceRequestDto dto) {
+        countIfMissing(dto.getInvoiceDate(), missingDate);
+        countIfMissing(dto.getMetalType(), missingMetalType);
+        countIfMissing(dto.getAmountWithoutGst(), missingAmountWithoutGst);
+        countIfMissing(dto.getGstAmount(), missingGstAmount);
+        countIfMissing(dto.getTotalAmount(), missingTotalAmount);
+
+        // If parsing failed for some fields, log it so we can refine the templates
+        if (dto.getInvoiceDate() == null
+                || dto.getMetalType() == null
+                || dto.getAmountWithoutGst() == null
+                || dto.getGstAmount() == null
+                || dto.getTotalAmount() == null) {
+            log.info("Parsed invoice with missing fields: date={}, metalType={}, amountWithoutGst={}, gstAmount={}, totalAmount={}",
+                    dto.getInvoiceDate(), dto.getMetalType(), dto.getAmountWithoutGst(),
+                    dto.getGstAmount(), dto.getTotalAmount());
         }
+    }
 
-        // Fallback: first word in a line starting with a metal name like GOLD/SILVER
-        Pattern metalLine = Pattern.compile("(?im)^(GOLD|SILVER|PLATINUM|PALLADIUM)[A-Z0-9 ]*.*$");
-        Matcher metalLineMatcher = metalLine.matcher(text);
-        if (metalLineMatcher.find()) {
-            return metalLineMatcher.group(1).toUpperCase(Locale.ENGLISH);
+    private static void countIfMissing(Object value, Counter counter) {
+        if (value == null) {
+            counter.increment();
         }
+    }
 
-        return null;
-    }
-
-    private BigDecimal extractLineAmount(String text) {
-        // Match product line with columns ending in amount, e.g. "SILVER24 6.4604 150.28 970.87"
-        Pattern lineAmount = Pattern.compile("(?im)^(?:Product\\s*:?\\s*)?(SILVER24|GOLD[0-9A-Z ]*|SILVER[0-9A-Z ]*).*$");
-        Matcher matcher = lineAmount.matcher(text);
-        if (matcher.find()) {
-            // Take the last numeric token on that line as the amount
-            String line = matcher.group(0);
-            Pattern amountPattern = Pattern.compile("([0-9]+[.,][0-9]+)\\s*$");
-            Matcher amountMatcher = amountPattern.matcher(line);
-            if (amountMatcher.find()) {
-                String number = amountMatcher.group(1).replace(",", "");
-                number = number.replaceAll("[^0-9.]+", "");
-                try {
-                    return new BigDecimal(number);
-                } catch (NumberFormatException ignored) {
-                }
-            }
+    private static Counter missingFieldCounter(MeterRegistry meterRegistry, InvoiceField field) {
+        return meterRegistry.counter("aura.pdf.fields.missing", "field", field.name().toLowerCase(Locale.ROOT));
+    }
+
+    private record PageText(String text, boolean startsInvoice) {
+    }
+
+    /**
+     * Strips the pages {@code first..last} (1-based, inclusive), splitting the range in half until it is small
+     * enough for one document load.
+     */
+    private final class PageRangeTask extends RecursiveTask<List<PageText>> {
+
+        private final Path path;
+        private final int first;
+        private final int last;
+
+        private PageRangeTask(Path path, int first, int last) {
+            this.path = path;
+            this.first = first;
+            this.last = last;
         }
-        return null;
-    }
-
-    private BigDecimal extractGstAmount(String text) {
-        // Example: "GST(3%) 29.13"
-        Pattern gstPattern = Pattern.compile("(?i)GST\\s*\\([^)]*\\)\\s*([₹$€£]?\\s*[0-9]+[.,][0-9]+)");
-        Matcher matcher = gstPattern.matcher(text);
-        if (matcher.find()) {
-            String number = matcher.group(1).replace(",", "");
-            number = number.replaceAll("[^0-9.]+", "");
-            try {
-                return new BigDecimal(number);
-            } catch (NumberFormatException ignored) {
+
+        @Override
+        protected List<PageText> compute() {
+            if (last - first + 1 > pagesPerTask) {
+                int middle = (first + last) >>> 1;
+                PageRangeTask head = new PageRangeTask(path, first, middle);
+                PageRangeTask tail = new PageRangeTask(path, middle + 1, last);
+                head.fork();
+                List<PageText> tailPages = tail.compute();
+                List<PageText> pages = new ArrayList<>(head.join());
+                pages.addAll(tailPages);
+                return pages;
             }
-        }
-        return null;
-    }
-
-    private BigDecimal extractTotalInvoiceValue(String text) {
-        // Example: "TOTAL INVOICE VALUE 1000"
-        Pattern totalPattern = Pattern.compile("(?i)TOTAL\\s+INVOICE\\s+VALUE\\s*([₹$€£]?\\s*[0-9]+[.,]?[0-9]*)");
-        Matcher matcher = totalPattern.matcher(text);
-        if (matcher.find()) {
-            String number = matcher.group(1).replace(",", "");
-            number = number.replaceAll("[^0-9.]+", "");
-            try {
-                return new BigDecimal(number);
-            } catch (NumberFormatException ignored) {
+
+            try (PDDocument document = load(path)) {
+                PDFTextStripper stripper = new PDFTextStripper();
+                List<PageText> pages = new ArrayList<>(last - first + 1);
+                for (int page = first; page <= last; page++) {
+                    stripper.setStartPage(page);
+                    stripper.setEndPage(page);
+                    String text = stripper.getText(document);
+                    pages.add(new PageText(text, fieldExtractor.startsInvoice(text)));
+                }
+                return pages;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         }
-        return null;
     }
 }
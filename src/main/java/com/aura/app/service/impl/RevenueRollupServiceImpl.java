@@ -0,0 +1,149 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.model.Invoice;
+import com.aura.app.model.RevenueRollup;
+import com.aura.app.repository.InvoiceRepository;
+import com.aura.app.repository.RevenueRollupRepository;
+import com.aura.app.service.RevenueRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code revenue_rollups} in step with the invoices table. Deltas are applied inside the caller's
+ * transaction, so a rolled-back invoice write never leaves a stale bucket behind. Each upsert holds its bucket's
+ * row lock until that transaction commits, so buckets are always written in a fixed order to keep concurrent
+ * writers touching the same buckets from deadlocking.
+ */
+@Service
+@Transactional
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupServiceImpl.class);
+
+    private static final Comparator<BucketKey> BUCKET_ORDER = Comparator.comparingInt(BucketKey::year)
+            .thenComparingInt(BucketKey::month)
+            .thenComparingLong(BucketKey::userKey)
+            .thenComparing(BucketKey::metalKey);
+
+    private final RevenueRollupRepository rollupRepository;
+    private final InvoiceRepository invoiceRepository;
+
+    public RevenueRollupServiceImpl(RevenueRollupRepository rollupRepository, InvoiceRepository invoiceRepository) {
+        this.rollupRepository = rollupRepository;
+        this.invoiceRepository = invoiceRepository;
+    }
+
+    @Override
+    public void recordCreated(Collection<Invoice> invoices) {
+        applyDeltas(invoices, 1);
+    }
+
+    @Override
+    public void recordDeleted(Collection<Invoice> invoices) {
+        applyDeltas(invoices, -1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getRevenueSummary() {
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal totalGst = BigDecimal.ZERO;
+        Map<Integer, BigDecimal> monthlyRevenue = new HashMap<>();
+        Map<Integer, BigDecimal> yearlyRevenue = new HashMap<>();
+        Map<Long, BigDecimal> revenueByUser = new HashMap<>();
+        Map<String, BigDecimal> revenueByMetal = new HashMap<>();
+
+        for (RevenueRollup bucket : rollupRepository.findAll()) {
+            if (bucket.getInvoiceCount() <= 0) {
+                continue;
+            }
+            totalRevenue = totalRevenue.add(bucket.getTotalRevenue());
+            totalGst = totalGst.add(bucket.getTotalGst());
+            // Year/month 0 holds undated invoices: they count towards the totals only
+            if (bucket.getBucketYear() != 0) {
+                monthlyRevenue.merge(bucket.getBucketMonth(), bucket.getTotalRevenue(), BigDecimal::add);
+                yearlyRevenue.merge(bucket.getBucketYear(), bucket.getTotalRevenue(), BigDecimal::add);
+            }
+            if (bucket.getUserKey() != 0) {
+                revenueByUser.merge(bucket.getUserKey(), bucket.getTotalRevenue(), BigDecimal::add);
+            }
+            if (!bucket.getMetalKey().isEmpty()) {
+                revenueByMetal.merge(bucket.getMetalKey(), bucket.getTotalRevenue(), BigDecimal::add);
+            }
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalRevenue", totalRevenue);
+        summary.put("totalGst", totalGst);
+        summary.put("monthlyRevenue", monthlyRevenue);
+        summary.put("yearlyRevenue", yearlyRevenue);
+        summary.put("revenueByUser", revenueByUser);
+        summary.put("revenueByMetal", revenueByMetal);
+        return summary;
+    }
+
+    @Override
+    public int rebuild() {
+        rollupRepository.lockInvoices();
+        rollupRepository.deleteAllBuckets();
+        int buckets = rollupRepository.insertBucketsFromInvoices();
+        log.info("Rebuilt revenue rollups: {} buckets", buckets);
+        return buckets;
+    }
+
+    /**
+     * Populate the rollups on the first start after they were introduced, when invoices already exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() == 0 && invoiceRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    private void applyDeltas(Collection<Invoice> invoices, int sign) {
+        // Collapse the batch to one delta per bucket so bulk imports issue one upsert per bucket, not per row
+        Map<BucketKey, Delta> deltas = new TreeMap<>(BUCKET_ORDER);
+        for (Invoice invoice : invoices) {
+            Delta delta = deltas.computeIfAbsent(BucketKey.of(invoice), key -> new Delta());
+            delta.count += sign;
+            if (invoice.getTotalAmount() != null) {
+                delta.revenue = sign > 0 ? delta.revenue.add(invoice.getTotalAmount()) : delta.revenue.subtract(invoice.getTotalAmount());
+            }
+            if (invoice.getGstAmount() != null) {
+                delta.gst = sign > 0 ? delta.gst.add(invoice.getGstAmount()) : delta.gst.subtract(invoice.getGstAmount());
+            }
+        }
+
+        deltas.forEach((key, delta) -> rollupRepository.applyDelta(key.year(), key.month(), key.userKey(),
+                key.metalKey(), delta.count, delta.revenue, delta.gst));
+    }
+
+    private record BucketKey(int year, int month, long userKey, String metalKey) {
+
+        static BucketKey of(Invoice invoice) {
+            int year = invoice.getInvoiceDate() != null ? invoice.getInvoiceDate().getYear() : 0;
+            int month = invoice.getInvoiceDate() != null ? invoice.getInvoiceDate().getMonthValue() : 0;
+            long userKey = invoice.getUserId() != null ? invoice.getUserId() : 0L;
+            String metalKey = invoice.getMetalType() != null ? invoice.getMetalType() : "";
+            return new BucketKey(year, month, userKey, metalKey);
+        }
+    }
+
+    private static final class Delta {
+        private long count;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private BigDecimal gst = BigDecimal.ZERO;
+    }
+}
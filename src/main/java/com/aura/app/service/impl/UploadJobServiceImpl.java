@@ -0,0 +1,148 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.dto.InvoiceResponseDto;
+import com.aura.app.dto.UploadJobDto;
+import com.aura.app.dto.UploadJobStatus;
+import com.aura.app.service.InvoiceService;
+import com.aura.app.service.UploadJobService;
+import com.aura.app.utils.SpooledMultipartFile;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs invoice uploads on a bounded worker pool so the servlet thread only has to spool the file.
+ * Finished jobs are kept in memory for {@code aura.upload.async.retention-minutes} and then evicted.
+ */
+@Service
+public class UploadJobServiceImpl implements UploadJobService {
+
+    private final InvoiceService invoiceService;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobServiceImpl(InvoiceService invoiceService,
+                                @Value("${aura.upload.async.pool-size:4}") int poolSize,
+                                @Value("${aura.upload.async.queue-capacity:100}") int queueCapacity,
+                                @Value("${aura.upload.async.retention-minutes:60}") long retentionMinutes) {
+        this.invoiceService = invoiceService;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "invoice-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public UploadJobDto submitUpload(MultipartFile file, Long userId) {
+        evictExpiredJobs();
+
+        // The multipart part is deleted once the request completes, so copy it somewhere the worker can read
+        SpooledMultipartFile spooled = SpooledMultipartFile.spool(file);
+        Job job = new Job(UUID.randomUUID().toString(), file.getOriginalFilename(), userId);
+        jobs.put(job.id, job);
+
+        try {
+            executor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            spooled.close();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Upload queue is full, retry later");
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public Optional<UploadJobDto> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::toDto);
+    }
+
+    private void run(Job job, SpooledMultipartFile file) {
+        job.startedAt = Instant.now();
+        job.status = UploadJobStatus.RUNNING;
+        UploadJobStatus outcome = UploadJobStatus.FAILED;
+        try {
+            job.result = invoiceService.uploadInvoice(file, job.userId);
+            outcome = UploadJobStatus.SUCCEEDED;
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+        } finally {
+            file.close();
+            job.finishedAt = Instant.now();
+            job.status = outcome;
+        }
+    }
+
+    private void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String fileName;
+        private final Long userId;
+        private final Instant submittedAt = Instant.now();
+        private volatile UploadJobStatus status = UploadJobStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile InvoiceResponseDto result;
+        private volatile String error;
+
+        private Job(String id, String fileName, Long userId) {
+            this.id = id;
+            this.fileName = fileName;
+            this.userId = userId;
+        }
+
+        private UploadJobDto toDto() {
+            Instant started = startedAt;
+            Instant finished = finishedAt;
+
+            UploadJobDto dto = new UploadJobDto();
+            dto.setId(id);
+            dto.setStatus(status);
+            dto.setFileName(fileName);
+            dto.setUserId(userId);
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(started);
+            dto.setFinishedAt(finished);
+            if (started != null) {
+                dto.setQueuedMillis(Duration.between(submittedAt, started).toMillis());
+            }
+            if (started != null && finished != null) {
+                dto.setProcessingMillis(Duration.between(started, finished).toMillis());
+            }
+            dto.setResult(result);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.aura.app.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 content hashes for uploaded files, as lower-case hex.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+            digestIn.transferTo(OutputStream.nullOutputStream());
+        }
+        return toHex(digest);
+    }
+
+    /**
+     * 64-bit key derived from a hash, e.g. for PostgreSQL advisory locks.
+     */
+    public static long lockKey(String hash) {
+        return Long.parseUnsignedLong(hash.substring(0, 16), 16);
+    }
+}
@@ -0,0 +1,444 @@
+package com.aura.app.utils;
+
+import com.aura.app.dto.InvoiceRequestDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Streaming tokenizer for invoice CSV uploads.
+ * <p>
+ * Reads straight from a {@link Reader} into a reusable char buffer, supports quoted fields with embedded
+ * commas and doubled quotes, and resolves the column layout once per file from the header row (or, when the
+ * header is not recognised, from the first data row). Numbers and dates are parsed from the field chars
+ * directly, so malformed values become {@code null} without throwing.
+ */
+public class CsvInvoiceReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_FIELDS = 5;
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final int COL_USER_ID = 0;
+    private static final int COL_DATE = 1;
+    private static final int COL_METAL = 2;
+    private static final int COL_AMOUNT = 3;
+    private static final int COL_GST = 4;
+    private static final int COL_TOTAL = 5;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    // Field chars of the current record, addressed by fieldStart/fieldEnd
+    private char[] fieldChars = new char[256];
+    private int[] fieldStart = new int[16];
+    private int[] fieldEnd = new int[16];
+    private int fieldCount;
+
+    // Record column index for each logical column, -1 when absent
+    private int[] layout;
+
+    // Small cache so repeated metal types do not allocate a new String per row
+    private final String[] metalCache = new String[32];
+
+    public CsvInvoiceReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read every data row and hand it to {@code rowHandler}.
+     *
+     * @return number of malformed rows that were skipped
+     */
+    public int read(Consumer<InvoiceRequestDto> rowHandler) throws IOException {
+        int skipped = 0;
+        boolean header = true;
+        while (nextRecord()) {
+            if (isBlankRecord()) {
+                continue;
+            }
+            if (header) {
+                header = false;
+                layout = layoutFromHeader();
+                continue;
+            }
+            if (fieldCount < MIN_FIELDS) {
+                // Expect at least: invoiceDate, metalType, amountWithoutGst, gstAmount, totalAmount
+                skipped++;
+                continue;
+            }
+            if (layout == null) {
+                layout = layoutFromFirstRow();
+            }
+            rowHandler.accept(toDto());
+        }
+        return skipped;
+    }
+
+    private InvoiceRequestDto toDto() {
+        InvoiceRequestDto dto = new InvoiceRequestDto();
+        int col = layout[COL_USER_ID];
+        if (col >= 0 && col < fieldCount) {
+            dto.setUserId(parseLong(fieldStart[col], fieldEnd[col]));
+        }
+        col = layout[COL_DATE];
+        if (col >= 0 && col < fieldCount) {
+            dto.setInvoiceDate(parseDate(fieldStart[col], fieldEnd[col]));
+        }
+        col = layout[COL_METAL];
+        if (col >= 0 && col < fieldCount) {
+            dto.setMetalType(metalType(fieldStart[col], fieldEnd[col]));
+        }
+        col = layout[COL_AMOUNT];
+        if (col >= 0 && col < fieldCount) {
+            dto.setAmountWithoutGst(parseDecimal(fieldStart[col], fieldEnd[col]));
+        }
+        col = layout[COL_GST];
+        if (col >= 0 && col < fieldCount) {
+            dto.setGstAmount(parseDecimal(fieldStart[col], fieldEnd[col]));
+        }
+        col = layout[COL_TOTAL];
+        if (col >= 0 && col < fieldCount) {
+            dto.setTotalAmount(parseDecimal(fieldStart[col], fieldEnd[col]));
+        }
+        return dto;
+    }
+
+    /**
+     * Map known header names to columns. Returns {@code null} when the header does not name the date and
+     * total columns, in which case the positional layout is inferred from the first data row.
+     */
+    private int[] layoutFromHeader() {
+        int[] mapped = new int[6];
+        Arrays.fill(mapped, -1);
+        for (int i = 0; i < fieldCount; i++) {
+            String name = normalizedHeader(fieldStart[i], fieldEnd[i]);
+            switch (name) {
+                case "userid", "user" -> mapped[COL_USER_ID] = i;
+                case "invoicedate", "date" -> mapped[COL_DATE] = i;
+                case "metaltype", "metal", "product" -> mapped[COL_METAL] = i;
+                case "amountwithoutgst", "amount", "netamount" -> mapped[COL_AMOUNT] = i;
+                case "gstamount", "gst" -> mapped[COL_GST] = i;
+                case "totalamount", "total", "totalinvoicevalue" -> mapped[COL_TOTAL] = i;
+                default -> {
+                }
+            }
+        }
+        if (mapped[COL_DATE] < 0 || mapped[COL_TOTAL] < 0) {
+            return null;
+        }
+        return mapped;
+    }
+
+    /**
+     * Positional layout: [userId,] invoiceDate, metalType, amountWithoutGst, gstAmount, totalAmount.
+     * The optional userId column is present when the first column of the first data row is all digits.
+     */
+    private int[] layoutFromFirstRow() {
+        int offset = isDigits(fieldStart[0], fieldEnd[0]) ? 1 : 0;
+        int[] positional = new int[6];
+        positional[COL_USER_ID] = offset == 1 ? 0 : -1;
+        positional[COL_DATE] = offset;
+        positional[COL_METAL] = offset + 1;
+        positional[COL_AMOUNT] = offset + 2;
+        positional[COL_GST] = offset + 3;
+        positional[COL_TOTAL] = offset + 4;
+        return positional;
+    }
+
+    private String normalizedHeader(int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = fieldChars[i];
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private boolean nextRecord() throws IOException {
+        fieldCount = 0;
+        int length = 0;
+        if (!ensureData()) {
+            return false;
+        }
+
+        int start = 0;
+        boolean quoted = false;
+        while (true) {
+            if (!ensureData()) {
+                addField(start, length);
+                return true;
+            }
+            char c = buffer[position++];
+            if (quoted) {
+                if (c == '"') {
+                    if (ensureData() && buffer[position] == '"') {
+                        position++;
+                        length = append(length, '"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    length = append(length, c);
+                }
+            } else if (c == ',') {
+                addField(start, length);
+                start = length;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && ensureData() && buffer[position] == '\n') {
+                    position++;
+                }
+                addField(start, length);
+                return true;
+            } else if (c == '"' && isBlank(start, length)) {
+                // Opening quote; whitespace before it is not part of the value
+                length = start;
+                quoted = true;
+            } else if (c == '\uFEFF' && length == 0 && fieldCount == 0) {
+                // Skip UTF-8 byte order mark
+            } else {
+                length = append(length, c);
+            }
+        }
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+        }
+        while (start < end && Character.isWhitespace(fieldChars[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(fieldChars[end - 1])) {
+            end--;
+        }
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private int append(int length, char c) {
+        if (length == fieldChars.length) {
+            fieldChars = Arrays.copyOf(fieldChars, length * 2);
+        }
+        fieldChars[length] = c;
+        return length + 1;
+    }
+
+    private boolean ensureData() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            eof = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private boolean isBlankRecord() {
+        for (int i = 0; i < fieldCount; i++) {
+            if (fieldEnd[i] > fieldStart[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isBlank(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(fieldChars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isDigits(int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = fieldChars[i];
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Long parseLong(int start, int end) {
+        if (!isDigits(start, end) || end - start > MAX_LONG_DIGITS) {
+            return null;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (fieldChars[i] - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parse a decimal such as {@code 1,234.50} or {@code -29.13}. Thousands separators are ignored.
+     */
+    private BigDecimal parseDecimal(int start, int end) {
+        boolean negative = false;
+        if (start < end && (fieldChars[start] == '-' || fieldChars[start] == '+')) {
+            negative = fieldChars[start] == '-';
+            start++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            char c = fieldChars[i];
+            if (c >= '0' && c <= '9') {
+                if (digits == MAX_LONG_DIGITS) {
+                    return parseLargeDecimal(start, end, negative);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (unscaled != 0) {
+                    digits++;
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else if (c != ',') {
+                return null;
+            }
+        }
+        if (digits == 0 && unscaled == 0 && !hasDigit(start, end)) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private boolean hasDigit(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (fieldChars[i] >= '0' && fieldChars[i] <= '9') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BigDecimal parseLargeDecimal(int start, int end, boolean negative) {
+        StringBuilder sb = new StringBuilder(end - start + 1);
+        if (negative) {
+            sb.append('-');
+        }
+        boolean dot = false;
+        for (int i = start; i < end; i++) {
+            char c = fieldChars[i];
+            if (c == ',') {
+                continue;
+            }
+            if (c == '.') {
+                if (dot) {
+                    return null;
+                }
+                dot = true;
+            } else if (c < '0' || c > '9') {
+                return null;
+            }
+            sb.append(c);
+        }
+        return new BigDecimal(sb.toString());
+    }
+
+    /**
+     * Parse {@code dd/MM/yyyy} or {@code yyyy-MM-dd}. Day overflow in the slash format is clamped to the end
+     * of the month, matching the lenient resolution of the previous formatter-based parser.
+     */
+    private LocalDate parseDate(int start, int end) {
+        if (end - start != 10) {
+            return null;
+        }
+        int year;
+        int month;
+        int day;
+        boolean clampDay;
+        if (fieldChars[start + 2] == '/' && fieldChars[start + 5] == '/') {
+            day = digits(start, 2);
+            month = digits(start + 3, 2);
+            year = digits(start + 6, 4);
+            clampDay = true;
+        } else if (fieldChars[start + 4] == '-' && fieldChars[start + 7] == '-') {
+            year = digits(start, 4);
+            month = digits(start + 5, 2);
+            day = digits(start + 8, 2);
+            clampDay = false;
+        } else {
+            return null;
+        }
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        int monthLength = Month.of(month).length(Year.isLeap(year));
+        if (day > monthLength) {
+            if (!clampDay) {
+                return null;
+            }
+            day = monthLength;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = fieldChars[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private String metalType(int start, int end) {
+        int length = end - start;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + fieldChars[i];
+        }
+        int slot = (hash & 0x7fffffff) % metalCache.length;
+        String cached = metalCache[slot];
+        if (cached != null && cached.length() == length) {
+            boolean same = true;
+            for (int i = 0; i < length; i++) {
+                if (cached.charAt(i) != fieldChars[start + i]) {
+                    same = false;
+                    break;
+                }
+            }
+            if (same) {
+                return cached;
+            }
+        }
+        String value = new String(fieldChars, start, length);
+        metalCache[slot] = value;
+        return value;
+    }
+}
@@ -2,50 +2,40 @@ package com.aura.app.utils;
 
 import com.aura.app.dto.InvoiceRequestDto;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-
 public class CsvWriterUtil {
 
-    private static final String OUTPUT_DIR = "output";
-    private static final String OUTPUT_FILE = "invoices_parsed.csv";
-    private static final String HEADER = "invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount";
-
-    public static Path appendInvoiceToCsv(InvoiceRequestDto dto) {
-        try {
-            Path dir = Paths.get(OUTPUT_DIR);
-            if (!Files.exists(dir)) {
-                Files.createDirectories(dir);
-            }
-
-            Path filePath = dir.resolve(OUTPUT_FILE);
-            boolean fileExists = Files.exists(filePath);
-
-            try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8,
-                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
-                if (!fileExists) {
-                    writer.write(HEADER);
-                    writer.newLine();
-                }
-
-                String line = String.format("%s,%s,%s,%s,%s",
-                        dto.getInvoiceDate() != null ? dto.getInvoiceDate() : "",
-                        dto.getMetalType() != null ? dto.getMetalType() : "",
-                        dto.getAmountWithoutGst() != null ? dto.getAmountWithoutGst() : "",
-                        dto.getGstAmount() != null ? dto.getGstAmount() : "",
-                        dto.getTotalAmount() != null ? dto.getTotalAmount() : "");
-                writer.write(line);
-                writer.newLine();
-            }
+    public static final String HEADER = "invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount";
+
+    /**
+     * Render one invoice as a CSV line (without line terminator) in {@link #HEADER} column order.
+     */
+    public static String toCsvLine(InvoiceRequestDto dto) {
+        StringBuilder line = new StringBuilder(64);
+        appendValue(line, dto.getInvoiceDate());
+        line.append(',');
+        appendValue(line, dto.getMetalType());
+        line.append(',');
+        appendValue(line, dto.getAmountWithoutGst());
+        line.append(',');
+        appendValue(line, dto.getGstAmount());
+        line.append(',');
+        appendValue(line, dto.getTotalAmount());
+        return line.toString();
+    }
 
-            return filePath.toAbsolutePath();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to write invoice CSV", e);
+    /**
+     * Append one field, quoted when it contains a separator, quote or line break. Null appends nothing.
+     */
+    public static void appendValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            line.append(text);
+            return;
         }
+        // Quote values that would otherwise break the row apart
+        line.append('"').append(text.replace("\"", "\"\"")).append('"');
     }
 }
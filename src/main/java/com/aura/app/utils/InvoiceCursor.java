@@ -0,0 +1,66 @@
+package com.aura.app.utils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in the {@code (invoiceDate, id)} ordering used by paged invoice listings.
+ * <p>
+ * Dated invoices come first in date order; undated invoices follow in id order, which matches PostgreSQL's
+ * NULLS LAST default. Encoded as {@code 2025-10-28:123} for dated rows and {@code undated:123} afterwards.
+ */
+public final class InvoiceCursor {
+
+    private static final String UNDATED = "undated";
+
+    /**
+     * Sorts before every real invoice date.
+     */
+    public static final InvoiceCursor START = new InvoiceCursor(LocalDate.of(1, 1, 1), 0L);
+
+    private final LocalDate invoiceDate;
+    private final long id;
+
+    private InvoiceCursor(LocalDate invoiceDate, long id) {
+        this.invoiceDate = invoiceDate;
+        this.id = id;
+    }
+
+    public static InvoiceCursor after(LocalDate invoiceDate, long id) {
+        return new InvoiceCursor(invoiceDate, id);
+    }
+
+    public static InvoiceCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        int separator = value.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor: " + value);
+        }
+        try {
+            String datePart = value.substring(0, separator);
+            long id = Long.parseLong(value.substring(separator + 1));
+            return new InvoiceCursor(UNDATED.equals(datePart) ? null : LocalDate.parse(datePart), id);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + value, e);
+        }
+    }
+
+    public boolean isUndated() {
+        return invoiceDate == null;
+    }
+
+    public LocalDate getInvoiceDate() {
+        return invoiceDate;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return (invoiceDate != null ? invoiceDate.toString() : UNDATED) + ":" + id;
+    }
+}
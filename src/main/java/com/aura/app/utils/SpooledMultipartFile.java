@@ -0,0 +1,111 @@
+package com.aura.app.utils;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+/**
+ * {@link MultipartFile} backed by a temp file, so an upload can outlive the HTTP request that carried it.
+ * The SHA-256 of the content is computed while spooling. Closing it deletes the temp file.
+ */
+public class SpooledMultipartFile implements MultipartFile, Closeable {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final Path path;
+    private final long size;
+    private final String contentHash;
+
+    private SpooledMultipartFile(String name, String originalFilename, String contentType, Path path, long size,
+                                 String contentHash) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.path = path;
+        this.size = size;
+        this.contentHash = contentHash;
+    }
+
+    public static SpooledMultipartFile spool(MultipartFile file) {
+        try {
+            Path path = Files.createTempFile("aura-upload-", ".tmp");
+            MessageDigest digest = ContentHash.newDigest();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+            return new SpooledMultipartFile(file.getName(), file.getOriginalFilename(), file.getContentType(),
+                    path, Files.size(path), ContentHash.toHex(digest));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to spool uploaded file", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Temp directory cleanup will eventually remove it
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.springapp.controller;
 
+import com.example.springapp.dto.UserPageDto;
+import com.example.springapp.dto.UserSummaryDto;
 import com.example.springapp.model.User;
 import com.example.springapp.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
 
@@ -17,15 +24,19 @@ import java.util.List;
 @Tag(name = "Users", description = "User CRUD operations")
 public class UserController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/login")
     @Operation(summary = "Login with email and password")
-    public ResponseEntity<User> login(@RequestBody User loginRequest) {
+    public ResponseEntity<UserSummaryDto> login(@RequestBody User loginRequest) {
         return userService.login(loginRequest.getEmail(), loginRequest.getPassword())
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
@@ -33,13 +44,34 @@ public class UserController {
 
     @GetMapping
     @Operation(summary = "Get all users")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<UserSummaryDto>> getAllUsers() {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get one page of users ordered by id; pass nextAfterId as afterId for the next page")
+    public ResponseEntity<UserPageDto> getUserPage(@RequestParam(value = "afterId", required = false) Long afterId,
+                                                   @RequestParam(value = "size", defaultValue = "100") int size) {
+        return ResponseEntity.ok(userService.getUserPage(afterId, size));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all users as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = out -> userService.streamUsers(user -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserSummaryDto> getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
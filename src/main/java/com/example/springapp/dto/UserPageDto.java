@@ -0,0 +1,29 @@
+package com.example.springapp.dto;
+
+import java.util.List;
+
+/**
+ * One page of users ordered by id. Pass {@code nextAfterId} as {@code afterId} to fetch the next page;
+ * it is {@code null} on the last page.
+ */
+public class UserPageDto {
+
+    private List<UserSummaryDto> items;
+    private Long nextAfterId;
+
+    public List<UserSummaryDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<UserSummaryDto> items) {
+        this.items = items;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.springapp.dto;
+
+/**
+ * Public view of a user. Built directly by JPQL constructor expressions, so the password column is never read.
+ */
+public class UserSummaryDto {
+
+    private Long id;
+    private String name;
+    private String email;
+
+    public UserSummaryDto() {
+    }
+
+    public UserSummaryDto(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+}
@@ -1,13 +1,49 @@
 package com.example.springapp.repository;
 
+import com.example.springapp.dto.UserSummaryDto;
 import com.example.springapp.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String SUMMARY = "select new com.example.springapp.dto.UserSummaryDto(u.id, u.name, u.email) from User u ";
+
     Optional<User> findByEmail(String email);
+
+    @Query(SUMMARY + "order by u.id")
+    List<UserSummaryDto> findAllSummaries();
+
+    @Query(SUMMARY + "where u.id = :id")
+    Optional<UserSummaryDto> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Keyset page: users with an id above {@code afterId}, limited by the pageable's size.
+     */
+    @Query(SUMMARY + "where u.id > :afterId order by u.id")
+    List<UserSummaryDto> findSummariesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Credentials are compared in the database so the stored password never leaves it.
+     */
+    @Query(SUMMARY + "where u.email = :email and u.password = :password")
+    Optional<UserSummaryDto> findSummaryByCredentials(@Param("email") String email,
+                                                      @Param("password") String password);
+
+    // Forward-only stream for the NDJSON export; callers must consume it inside a transaction
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(SUMMARY + "order by u.id")
+    Stream<UserSummaryDto> streamAllSummaries();
 }
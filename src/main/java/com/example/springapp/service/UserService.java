@@ -1,32 +1,66 @@
 package com.example.springapp.service;
 
+import com.example.springapp.dto.UserPageDto;
+import com.example.springapp.dto.UserSummaryDto;
 import com.example.springapp.model.User;
 import com.example.springapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final int maxPageSize;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       @Value("${aura.users.max-page-size:1000}") int maxPageSize) {
         this.userRepository = userRepository;
+        this.maxPageSize = Math.max(1, maxPageSize);
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserSummaryDto> getAllUsers() {
+        return userRepository.findAllSummaries();
     }
 
-    public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+    public UserPageDto getUserPage(Long afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+        // Fetch one extra row to learn whether another page follows
+        List<UserSummaryDto> users = userRepository.findSummariesAfter(afterId != null ? afterId : 0L,
+                PageRequest.ofSize(pageSize + 1));
+
+        UserPageDto page = new UserPageDto();
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            page.setNextAfterId(users.get(pageSize - 1).getId());
+        }
+        page.setItems(users);
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public void streamUsers(Consumer<UserSummaryDto> sink) {
+        try (Stream<UserSummaryDto> users = userRepository.streamAllSummaries()) {
+            users.forEach(sink);
+        }
+    }
+
+    public Optional<UserSummaryDto> getUserById(Long id) {
+        return userRepository.findSummaryById(id);
     }
 
-    public Optional<User> login(String email, String password) {
-        return userRepository.findByEmail(email)
-                .filter(user -> user.getPassword() != null && user.getPassword().equals(password));
+    public Optional<UserSummaryDto> login(String email, String password) {
+        if (email == null || password == null) {
+            return Optional.empty();
+        }
+        return userRepository.findSummaryByCredentials(email, password);
     }
 
     public User createUser(User user) {
@@ -0,0 +1,22 @@
+-- Schema as previously created by Hibernate ddl-auto=update: users and invoices only.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate), so this script only
+-- runs against empty databases; IF NOT EXISTS keeps it safe for partially created schemas.
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name     VARCHAR(255),
+    email    VARCHAR(255),
+    password VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS invoices (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            BIGINT,
+    invoice_date       DATE,
+    metal_type         VARCHAR(255),
+    amount_without_gst NUMERIC(19, 4),
+    gst_amount         NUMERIC(19, 4),
+    total_amount       NUMERIC(19, 4),
+    created_at         TIMESTAMP(6),
+    updated_at         TIMESTAMP(6)
+);
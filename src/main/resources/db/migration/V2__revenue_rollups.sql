@@ -0,0 +1,15 @@
+-- Pre-aggregated revenue per (year, month, user, metal type), kept in step with invoice writes.
+-- Filled from the invoices table at startup while empty (RevenueRollupService.rebuildIfEmpty).
+-- IF NOT EXISTS covers databases where Hibernate ddl-auto=update created the table before migrations existed.
+
+CREATE TABLE IF NOT EXISTS revenue_rollups (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bucket_year   INTEGER        NOT NULL,
+    bucket_month  INTEGER        NOT NULL,
+    user_key      BIGINT         NOT NULL,
+    metal_key     VARCHAR(255)   NOT NULL,
+    invoice_count BIGINT         NOT NULL,
+    total_revenue NUMERIC(19, 4) NOT NULL,
+    total_gst     NUMERIC(19, 4) NOT NULL,
+    CONSTRAINT uk_revenue_rollups_bucket UNIQUE (bucket_year, bucket_month, user_key, metal_key)
+);
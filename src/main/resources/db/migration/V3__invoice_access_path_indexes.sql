@@ -0,0 +1,11 @@
+-- Indexes for the invoice read paths. Built CONCURRENTLY so large tables stay writable;
+-- Flyway runs this script outside a transaction because every statement is non-transactional.
+
+-- Per-user listing, keyset pages and streams: WHERE user_id = ? ORDER BY invoice_date, id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invoices_user_date ON invoices (user_id, invoice_date, id);
+
+-- Date-range listing, keyset pages over all invoices and date-filtered analytics
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invoices_date ON invoices (invoice_date, id);
+
+-- Metal-type analytics over a date range
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invoices_metal_date ON invoices (metal_type, invoice_date);
@@ -0,0 +1,15 @@
+-- Content-hash index of processed uploads, so re-uploading the same file returns the stored invoice.
+-- Rows go away with their invoice; a later re-upload is then parsed again.
+
+CREATE TABLE uploaded_files (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content_hash VARCHAR(64)  NOT NULL,
+    user_key     BIGINT       NOT NULL,
+    invoice_id   BIGINT       NOT NULL REFERENCES invoices (id) ON DELETE CASCADE,
+    file_name    VARCHAR(255),
+    file_size    BIGINT       NOT NULL,
+    created_at   TIMESTAMP(6),
+    CONSTRAINT uk_uploaded_files_hash UNIQUE (content_hash, user_key)
+);
+
+CREATE INDEX idx_uploaded_files_invoice ON uploaded_files (invoice_id);
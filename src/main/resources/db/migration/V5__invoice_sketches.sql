@@ -0,0 +1,14 @@
+-- Per (year, month, metal type) sketches of dated invoices: a t-digest of total amounts and a HyperLogLog of
+-- user ids. Both merge across rows, so longer periods and all-metal figures are combined at query time.
+-- Sketches only grow; deletes are reflected by POST /api/invoices/analytics/sketches/rebuild.
+
+CREATE TABLE invoice_sketches (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bucket_year   INTEGER      NOT NULL,
+    bucket_month  INTEGER      NOT NULL,
+    metal_key     VARCHAR(255) NOT NULL,
+    invoice_count BIGINT       NOT NULL,
+    value_digest  BYTEA,
+    user_hll      BYTEA,
+    CONSTRAINT uk_invoice_sketches_bucket UNIQUE (bucket_year, bucket_month, metal_key)
+);
@@ -0,0 +1,4 @@
+-- Soft-deleted invoices keep their row with deleted_at set until the background purge removes them.
+-- Every read path filters on deleted_at IS NULL, whether or not soft delete is enabled.
+
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
@@ -0,0 +1,4 @@
+-- Lets the purge find soft-deleted rows without scanning the table; stays empty while soft delete is off.
+-- Built CONCURRENTLY, so Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invoices_deleted ON invoices (deleted_at, id) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,146 @@
+package com.aura.app.controller;
+
+import com.aura.app.service.CsvMirrorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CsvMirrorControllerTest {
+
+    private static final String FILE_NAME = "invoices_parsed.csv";
+    private static final String CONTENT = "invoiceDate,metalType\n28/10/2025,SILVER24\n";
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private CsvMirrorController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(directory.resolve(FILE_NAME), CONTENT, StandardCharsets.UTF_8);
+        CsvMirrorService csvMirrorService = mock(CsvMirrorService.class);
+        when(csvMirrorService.getActiveFile()).thenReturn(file);
+        controller = new CsvMirrorController(csvMirrorService);
+    }
+
+    @Test
+    void servesWholeFileWithoutRange() throws IOException {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/output/" + FILE_NAME));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void servesAppendedBytesForOpenEndedRange() throws IOException {
+        int offset = CONTENT.indexOf('\n') + 1;
+
+        MockHttpServletResponse response = download(rangeRequest("bytes=" + offset + "-"));
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT.substring(offset));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE))
+                .isEqualTo("bytes " + offset + "-" + (CONTENT.length() - 1) + "/" + CONTENT.length());
+    }
+
+    @Test
+    void servesSuffixRange() throws IOException {
+        MockHttpServletResponse response = download(rangeRequest("bytes=-9"));
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT.substring(CONTENT.length() - 9));
+    }
+
+    @Test
+    void rejectsRangeStartingAtEndOfFile() throws IOException {
+        MockHttpServletResponse response = download(rangeRequest("bytes=" + CONTENT.length() + "-"));
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + CONTENT.length());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void rejectsRangeBeyondRotatedFile() throws IOException {
+        MockHttpServletResponse response = download(rangeRequest("bytes=" + (CONTENT.length() + 100) + "-"));
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + CONTENT.length());
+    }
+
+    @Test
+    void servesWholeFileForMultipleRanges() throws IOException {
+        MockHttpServletResponse response = download(rangeRequest("bytes=0-1,4-5"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void servesWholeFileWhenIfRangeIsStale() throws IOException {
+        MockHttpServletRequest request = rangeRequest("bytes=5-");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void answersNotModifiedForCurrentEtag() throws IOException {
+        String etag = download(new MockHttpServletRequest("GET", "/output/" + FILE_NAME)).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/output/" + FILE_NAME);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void answersNotFoundForOtherFileNames() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.downloadCsvMirror("other.csv", new MockHttpServletRequest("GET", "/output/other.csv"), response);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void requestedRangeIsEmptyWhenStartIsPastTheEnd() {
+        assertThat(CsvMirrorController.requestedRange("bytes=10-", 10).satisfiable()).isFalse();
+        assertThat(CsvMirrorController.requestedRange("bytes=0-", 0).satisfiable()).isFalse();
+        assertThat(CsvMirrorController.requestedRange("bytes=0-99", 10))
+                .isEqualTo(new CsvMirrorController.ByteRange(0, 10));
+        assertThat(CsvMirrorController.requestedRange("items=0-1", 10)).isNull();
+    }
+
+    private MockHttpServletRequest rangeRequest(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/output/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, range);
+        return request;
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.downloadCsvMirror(FILE_NAME, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,140 @@
+package com.aura.app.service.impl;
+
+import com.aura.app.exception.ParseOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParseAdmissionServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsWorkAndReleasesItsReservation() {
+        ParseAdmissionServiceImpl admission = admission(2, 1000, 0, 100);
+
+        assertThat(admission.admit(400, () -> gauge("aura.pdf.admission.reserved.bytes"))).isEqualTo(400.0);
+        assertThat(gauge("aura.pdf.admission.running")).isZero();
+        assertThat(gauge("aura.pdf.admission.reserved.bytes")).isZero();
+    }
+
+    @Test
+    void releasesReservationWhenWorkFails() {
+        ParseAdmissionServiceImpl admission = admission(1, 1000, 0, 100);
+
+        assertThatThrownBy(() -> admission.admit(400, () -> {
+            throw new IllegalStateException("parse failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(admission.admit(1000, () -> "admitted")).isEqualTo("admitted");
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenQueueIsFull() throws Exception {
+        ParseAdmissionServiceImpl admission = admission(1, 1000, 0, 100);
+        hold(admission, 1);
+
+        assertThatThrownBy(() -> admission.admit(1, () -> "admitted"))
+                .isInstanceOfSatisfying(ParseOverloadedException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+                });
+        assertThat(rejected("queue_full")).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsWhenWaitTimesOut() throws Exception {
+        ParseAdmissionServiceImpl admission = admission(1, 1000, 1, 50);
+        hold(admission, 1);
+
+        assertThatThrownBy(() -> admission.admit(1, () -> "admitted")).isInstanceOf(ParseOverloadedException.class);
+        assertThat(rejected("timeout")).isEqualTo(1.0);
+        assertThat(gauge("aura.pdf.admission.queued")).isZero();
+    }
+
+    @Test
+    void queuedCallerRunsOnceSlotIsReleased() throws Exception {
+        ParseAdmissionServiceImpl admission = admission(1, 1000, 1, 10_000);
+        Future<?> holder = hold(admission, 1);
+
+        Future<String> queued = executor.submit(() -> admission.admit(1, () -> "admitted"));
+        awaitGauge("aura.pdf.admission.queued", 1.0);
+        assertThat(queued.isDone()).isFalse();
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("admitted");
+    }
+
+    @Test
+    void admitsOnlyWhatFitsIntoTheMemoryBudget() throws Exception {
+        ParseAdmissionServiceImpl admission = admission(4, 100, 0, 100);
+        hold(admission, 80);
+
+        assertThatThrownBy(() -> admission.admit(30, () -> "admitted")).isInstanceOf(ParseOverloadedException.class);
+        assertThat(admission.admit(20, () -> "admitted")).isEqualTo("admitted");
+    }
+
+    @Test
+    void clampsOversizedEstimateToTheBudget() {
+        ParseAdmissionServiceImpl admission = admission(4, 100, 0, 100);
+
+        assertThat(admission.admit(10_000, () -> gauge("aura.pdf.admission.reserved.bytes"))).isEqualTo(100.0);
+    }
+
+    private ParseAdmissionServiceImpl admission(int maxConcurrent, long budgetBytes, int queueCapacity, long maxWaitMs) {
+        return new ParseAdmissionServiceImpl(meterRegistry, maxConcurrent, budgetBytes, queueCapacity, maxWaitMs, 5);
+    }
+
+    /**
+     * Occupy a parse slot and {@code bytes} of the budget until the test releases it.
+     */
+    private Future<?> hold(ParseAdmissionServiceImpl admission, long bytes) throws InterruptedException {
+        CountDownLatch admitted = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> admission.admit(bytes, () -> {
+            admitted.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+        return holder;
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge(name) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(gauge(name)).isEqualTo(expected);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("aura.pdf.admission.rejected").tag("reason", reason).counter().count();
+    }
+}
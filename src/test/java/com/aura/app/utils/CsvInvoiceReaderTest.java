@@ -0,0 +1,151 @@
+package com.aura.app.utils;
+
+import com.aura.app.dto.InvoiceRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvInvoiceReaderTest {
+
+    @Test
+    void mapsColumnsFromHeader() throws IOException {
+        List<InvoiceRequestDto> rows = read("invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount\n"
+                + "28/10/2025,SILVER24,970.87,29.13,1000.00\n");
+
+        assertThat(rows).hasSize(1);
+        InvoiceRequestDto row = rows.get(0);
+        assertThat(row.getUserId()).isNull();
+        assertThat(row.getInvoiceDate()).isEqualTo(LocalDate.of(2025, 10, 28));
+        assertThat(row.getMetalType()).isEqualTo("SILVER24");
+        assertThat(row.getAmountWithoutGst()).isEqualByComparingTo("970.87");
+        assertThat(row.getGstAmount()).isEqualByComparingTo("29.13");
+        assertThat(row.getTotalAmount()).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void mapsReorderedHeaderAliases() throws IOException {
+        List<InvoiceRequestDto> rows = read("Total,Date,User,Metal,GST,Amount\n"
+                + "1000,2025-10-28,7,GOLD,29.13,970.87\n");
+
+        InvoiceRequestDto row = rows.get(0);
+        assertThat(row.getUserId()).isEqualTo(7L);
+        assertThat(row.getInvoiceDate()).isEqualTo(LocalDate.of(2025, 10, 28));
+        assertThat(row.getMetalType()).isEqualTo("GOLD");
+        assertThat(row.getAmountWithoutGst()).isEqualByComparingTo("970.87");
+        assertThat(row.getGstAmount()).isEqualByComparingTo("29.13");
+        assertThat(row.getTotalAmount()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void infersPositionalLayoutWithUserIdWhenHeaderIsUnknown() throws IOException {
+        List<InvoiceRequestDto> rows = read("a,b,c,d,e,f\n"
+                + "12,28/10/2025,GOLD,100.00,3.00,103.00\n"
+                + "13,29/10/2025,SILVER,200.00,6.00,206.00\n");
+
+        assertThat(rows).extracting(InvoiceRequestDto::getUserId).containsExactly(12L, 13L);
+        assertThat(rows.get(1).getInvoiceDate()).isEqualTo(LocalDate.of(2025, 10, 29));
+        assertThat(rows.get(1).getMetalType()).isEqualTo("SILVER");
+        assertThat(rows.get(1).getTotalAmount()).isEqualByComparingTo("206.00");
+    }
+
+    @Test
+    void infersPositionalLayoutWithoutUserId() throws IOException {
+        List<InvoiceRequestDto> rows = read("a,b,c,d,e\n28/10/2025,GOLD,100.00,3.00,103.00\n");
+
+        InvoiceRequestDto row = rows.get(0);
+        assertThat(row.getUserId()).isNull();
+        assertThat(row.getInvoiceDate()).isEqualTo(LocalDate.of(2025, 10, 28));
+        assertThat(row.getMetalType()).isEqualTo("GOLD");
+        assertThat(row.getGstAmount()).isEqualByComparingTo("3.00");
+        assertThat(row.getTotalAmount()).isEqualByComparingTo("103.00");
+    }
+
+    @Test
+    void readsQuotedFieldsWithCommasAndDoubledQuotes() throws IOException {
+        List<InvoiceRequestDto> rows = read("invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount\n"
+                + "28/10/2025, \"GOLD \"\"24K\"\", bar\",\"1,000.50\",30.02,\"1,030.52\"\n");
+
+        InvoiceRequestDto row = rows.get(0);
+        assertThat(row.getMetalType()).isEqualTo("GOLD \"24K\", bar");
+        assertThat(row.getAmountWithoutGst()).isEqualByComparingTo("1000.50");
+        assertThat(row.getTotalAmount()).isEqualByComparingTo("1030.52");
+    }
+
+    @Test
+    void skipsByteOrderMarkBeforeHeader() throws IOException {
+        List<InvoiceRequestDto> rows = read("\uFEFFinvoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount\n"
+                + "28/10/2025,GOLD,100,3,103\n");
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getInvoiceDate()).isEqualTo(LocalDate.of(2025, 10, 28));
+        assertThat(rows.get(0).getTotalAmount()).isEqualByComparingTo("103");
+    }
+
+    @Test
+    void handlesCrLfBlankLinesAndMissingFinalNewline() throws IOException {
+        List<InvoiceRequestDto> rows = read("invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount\r\n"
+                + "\r\n"
+                + "28/10/2025,GOLD,100,3,103\r\n"
+                + "  ,  \r\n"
+                + "29/10/2025,SILVER,200,6,206");
+
+        assertThat(rows).extracting(InvoiceRequestDto::getMetalType).containsExactly("GOLD", "SILVER");
+        assertThat(rows.get(1).getTotalAmount()).isEqualByComparingTo("206");
+    }
+
+    @Test
+    void countsRowsWithTooFewFieldsAsSkipped() throws IOException {
+        List<InvoiceRequestDto> rows = new ArrayList<>();
+        int skipped = new CsvInvoiceReader(new StringReader(
+                "invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount\n"
+                        + "28/10/2025,GOLD,100\n"
+                        + "29/10/2025,GOLD,100,3,103\n"
+                        + "garbage\n"))
+                .read(rows::add);
+
+        assertThat(skipped).isEqualTo(2);
+        assertThat(rows).hasSize(1);
+    }
+
+    @Test
+    void turnsMalformedValuesIntoNulls() throws IOException {
+        List<InvoiceRequestDto> rows = read("userId,invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount\n"
+                + "x7,2025-13-01,GOLD,12a.5,1.2.3,\n"
+                + "7,2025-02-31,GOLD,-29.13,0,99999999999999999999.99\n");
+
+        InvoiceRequestDto malformed = rows.get(0);
+        assertThat(malformed.getUserId()).isNull();
+        assertThat(malformed.getInvoiceDate()).isNull();
+        assertThat(malformed.getAmountWithoutGst()).isNull();
+        assertThat(malformed.getGstAmount()).isNull();
+        assertThat(malformed.getTotalAmount()).isNull();
+
+        InvoiceRequestDto edge = rows.get(1);
+        assertThat(edge.getInvoiceDate()).isNull();
+        assertThat(edge.getAmountWithoutGst()).isEqualByComparingTo("-29.13");
+        assertThat(edge.getGstAmount()).isEqualByComparingTo("0");
+        assertThat(edge.getTotalAmount()).isEqualByComparingTo("99999999999999999999.99");
+    }
+
+    @Test
+    void clampsDayOverflowInSlashDates() throws IOException {
+        List<InvoiceRequestDto> rows = read("invoiceDate,metalType,amountWithoutGst,gstAmount,totalAmount\n"
+                + "31/02/2025,GOLD,100,3,103\n"
+                + "31/02/2024,GOLD,100,3,103\n");
+
+        assertThat(rows).extracting(InvoiceRequestDto::getInvoiceDate)
+                .containsExactly(LocalDate.of(2025, 2, 28), LocalDate.of(2024, 2, 29));
+    }
+
+    private static List<InvoiceRequestDto> read(String csv) throws IOException {
+        List<InvoiceRequestDto> rows = new ArrayList<>();
+        new CsvInvoiceReader(new StringReader(csv)).read(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,49 @@
+package com.aura.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class InvoiceCursorTest {
+
+    @Test
+    void missingCursorStartsBeforeEveryInvoice() {
+        assertThat(InvoiceCursor.parse(null)).isSameAs(InvoiceCursor.START);
+        assertThat(InvoiceCursor.parse("  ")).isSameAs(InvoiceCursor.START);
+        assertThat(InvoiceCursor.START.isUndated()).isFalse();
+        assertThat(InvoiceCursor.START.getInvoiceDate()).isBefore(LocalDate.of(1900, 1, 1));
+    }
+
+    @Test
+    void datedCursorRoundTrips() {
+        InvoiceCursor cursor = InvoiceCursor.after(LocalDate.of(2025, 10, 28), 123L);
+
+        assertThat(cursor.toString()).isEqualTo("2025-10-28:123");
+        InvoiceCursor parsed = InvoiceCursor.parse(cursor.toString());
+        assertThat(parsed.isUndated()).isFalse();
+        assertThat(parsed.getInvoiceDate()).isEqualTo(LocalDate.of(2025, 10, 28));
+        assertThat(parsed.getId()).isEqualTo(123L);
+    }
+
+    @Test
+    void undatedCursorRoundTrips() {
+        InvoiceCursor cursor = InvoiceCursor.after(null, 5L);
+
+        assertThat(cursor.toString()).isEqualTo("undated:5");
+        InvoiceCursor parsed = InvoiceCursor.parse("undated:5");
+        assertThat(parsed.isUndated()).isTrue();
+        assertThat(parsed.getInvoiceDate()).isNull();
+        assertThat(parsed.getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatIllegalArgumentException().isThrownBy(() -> InvoiceCursor.parse("2025-10-28"));
+        assertThatIllegalArgumentException().isThrownBy(() -> InvoiceCursor.parse("2025-13-01:1"));
+        assertThatIllegalArgumentException().isThrownBy(() -> InvoiceCursor.parse("2025-10-28:abc"));
+        assertThatIllegalArgumentException().isThrownBy(() -> InvoiceCursor.parse("someday:1"));
+    }
+}